@@ -0,0 +1,337 @@
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Ограниченная блокирующая очередь на основе CustomLinkedList.
+//put ждёт, пока в очереди появится место, take - пока появится элемент; так производители получают
+//обратное давление, а не переполняют память. Ожидание построено на ReentrantLock и условиях notEmpty/notFull,
+//а не на synchronized, поэтому ждущий виртуальный поток освобождает поток-носитель.
+//drainTo забирает пачку элементов за один захват блокировки, чтобы потребитель платил за блокировку
+//один раз на пачку, а не на каждый элемент.
+//Узлы списка переиспользуются через пул CustomLinkedList, поэтому в установившемся режиме очередь
+//почти не создаёт объектов. Элементы не могут быть равны null. Итератор обходит копию очереди на момент вызова
+public class BlockingCustomLinkedQueue<B> extends AbstractQueue<B> implements BlockingQueue<B> {
+
+    //Наибольший размер пула узлов
+    private static final int MAX_NODE_POOL = 1024;
+
+    //Ёмкость очереди
+    private final int capacity;
+
+    //Элементы очереди
+    private final CustomLinkedList<B> items = new CustomLinkedList<>();
+
+    //Блокировка, под которой выполняются все операции
+    private final ReentrantLock lock = new ReentrantLock();
+
+    //Условие ожидания элементов
+    private final Condition notEmpty = lock.newCondition();
+
+    //Условие ожидания места в очереди
+    private final Condition notFull = lock.newCondition();
+
+    //Создает очередь с ёмкостью Integer.MAX_VALUE
+    public BlockingCustomLinkedQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    //Создает очередь с указанной ёмкостью
+    //Генерит исключение IllegalArgumentException, если ёмкость меньше единицы
+    public BlockingCustomLinkedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    capacity);
+        }
+        this.capacity = capacity;
+        items.enableNodePool(Math.min(capacity, MAX_NODE_POOL));
+    }
+
+    //Создает очередь с ёмкостью Integer.MAX_VALUE, содержащую элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция или один из её элементов равны null
+    public BlockingCustomLinkedQueue(Collection<? extends B> c) {
+        this(Integer.MAX_VALUE);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (B e : c)
+                items.addLast(Objects.requireNonNull(e));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Добавляет элемент в конец очереди и будит одного потребителя. Вызывается под блокировкой
+    private void enqueue(B e) {
+        items.addLast(e);
+        notEmpty.signal();
+    }
+
+    //Извлекает первый элемент очереди и будит одного производителя. Вызывается под блокировкой
+    private B dequeue() {
+        B e = items.pollFirst();
+        notFull.signal();
+        return e;
+    }
+
+    //Добавляет элемент, если в очереди есть место, и возвращает true; иначе возвращает false
+    //Может генерировать NullPointerException в случае, если элемент равен null
+    public boolean offer(B e) {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.size() == capacity)
+                return false;
+            enqueue(e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Добавляет элемент, ожидая места в очереди не дольше указанного времени.
+    //Возвращает false, если место так и не появилось
+    //Может генерировать InterruptedException, если поток прерван во время ожидания
+    public boolean offer(B e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == capacity) {
+                if (nanos <= 0L)
+                    return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Добавляет элемент, ожидая места в очереди сколько потребуется
+    //Может генерировать InterruptedException, если поток прерван во время ожидания
+    public void put(B e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == capacity)
+                notFull.await();
+            enqueue(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Извлекает и удаляет первый элемент или возвращает null, если очередь пуста
+    public B poll() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return (items.size() == 0) ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Извлекает и удаляет первый элемент, ожидая его не дольше указанного времени.
+    //Возвращает null, если элемент так и не появился
+    //Может генерировать InterruptedException, если поток прерван во время ожидания
+    public B poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == 0) {
+                if (nanos <= 0L)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Извлекает и удаляет первый элемент, ожидая его сколько потребуется
+    //Может генерировать InterruptedException, если поток прерван во время ожидания
+    public B take() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == 0)
+                notEmpty.await();
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Возвращает первый элемент, не удаляя его, или null, если очередь пуста
+    public B peek() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Метод получения размера очереди
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Возвращает количество элементов, которое можно добавить без ожидания
+    public int remainingCapacity() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return capacity - items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Удаляет первое вхождение указанного элемента
+    public boolean remove(Object o) {
+        if (o == null)
+            return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.remove(o)) {
+                notFull.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Проверяет, содержит ли очередь указанный элемент
+    public boolean contains(Object o) {
+        if (o == null)
+            return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.contains(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Удаляет все элементы из очереди и будит ждущих производителей
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            items.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Переносит все элементы очереди в указанную коллекцию
+    public int drainTo(Collection<? super B> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    //Переносит не больше maxElements элементов в указанную коллекцию за один захват блокировки
+    //и будит всех производителей, которые ждали места. Элемент удаляется из очереди только после того,
+    //как коллекция его приняла, поэтому при исключении в c.add ни один элемент не теряется.
+    //Возвращает количество действительно перенесённых элементов
+    //Может генерировать NullPointerException в случае, если коллекция равна null, и
+    //IllegalArgumentException, если коллекция - эта же очередь
+    public int drainTo(Collection<? super B> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this)
+            throw new IllegalArgumentException();
+        if (maxElements <= 0)
+            return 0;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = Math.min(maxElements, items.size());
+            int i = 0;
+            try {
+                for (; i < n; i++) {
+                    c.add(items.peekFirst());
+                    items.pollFirst();
+                }
+            } finally {
+                if (i > 0)
+                    notFull.signalAll();
+            }
+            return i;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Возвращает массив с элементами очереди
+    public Object[] toArray() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T[] toArray(T[] a) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray(a);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Строковое представление очереди
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    //Итератор по копии очереди на момент вызова. remove удаляет из очереди первое вхождение элемента
+    public Iterator<B> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<B>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            public B next() {
+                if (cursor >= snapshot.length)
+                    throw new NoSuchElementException();
+                return (B) snapshot[lastRet = cursor++];
+            }
+
+            public void remove() {
+                if (lastRet < 0)
+                    throw new IllegalStateException();
+                BlockingCustomLinkedQueue.this.remove(snapshot[lastRet]);
+                lastRet = -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+import java.util.*;
+import java.util.function.Supplier;
+
+//Простой замер скорости CustomArrayList и CustomLinkedList в сравнении с ArrayList и LinkedList.
+//Для каждой операции и каждого размера списка делается несколько прогревочных прогонов, затем
+//несколько замеров, из которых берётся лучший. Результат печатается в наносекундах на операцию.
+//Запуск: java CollectionsBenchmark [максимальный размер]
+//        java CollectionsBenchmark removeAll - точка, с которой removeAll выгоднее делать через HashSet
+public class CollectionsBenchmark {
+
+    //Размеры списков, на которых проводятся замеры
+    private static final int[] SIZES = {10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+    //Количество прогревочных прогонов и замеров
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    //Сколько позиционных операций (get, add(index), remove(index)) делать за один прогон
+    private static final int POSITIONAL_OPS = 1_000;
+
+    //Верхняя граница размера для операций, которые у связного списка работают за O(n)
+    //на каждый вызов; на больших размерах такие замеры заняли бы минуты
+    private static final int LINKED_POSITIONAL_LIMIT = 100_000;
+
+    //Сюда складываются результаты, чтобы JIT не выкинул вычисления
+    static volatile long sink;
+
+    //Список, на котором проводятся замеры, и его название
+    private record Subject(String name, Supplier<List<Integer>> factory, boolean sequential) {}
+
+    private static final List<Subject> SUBJECTS = List.of(
+            new Subject("ArrayList", ArrayList::new, false),
+            new Subject("CustomArrayList", CustomArrayList::new, false),
+            new Subject("LinkedList", LinkedList::new, true),
+            new Subject("CustomLinkedList", CustomLinkedList::new, true));
+
+    //Одна операция замера: получает заполненный список и возвращает количество выполненных операций
+    private interface Operation {
+        int run(List<Integer> list, int size);
+    }
+
+    //Размер списка и размеры аргумента для замера removeAll
+    private static final int REMOVE_ALL_LIST_SIZE = 100_000;
+    private static final int[] REMOVE_ALL_ARGUMENT_SIZES = {1, 2, 4, 8, 16, 32, 64, 128, 1_024, 10_000};
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("removeAll")) {
+            removeAllCrossover();
+            return;
+        }
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : SIZES[SIZES.length - 1];
+        System.out.printf("%-18s %-18s %10s %14s%n", "operation", "list", "size", "ns/op");
+        for (int size : SIZES) {
+            if (size > maxSize)
+                break;
+            for (Subject subject : SUBJECTS) {
+                runAll(subject, size);
+            }
+        }
+    }
+
+    //Запускает все операции для одного списка и одного размера
+    private static void runAll(Subject subject, int size) {
+        boolean positional = !subject.sequential() || size <= LINKED_POSITIONAL_LIMIT;
+
+        measure("add", subject, size, false, (list, n) -> {
+            for (int i = 0; i < n; i++)
+                list.add(i);
+            return n;
+        });
+        if (positional) {
+            measure("add(index)", subject, size, true, (list, n) -> {
+                Random random = new Random(42);
+                for (int i = 0; i < POSITIONAL_OPS; i++)
+                    list.add(random.nextInt(list.size() + 1), i);
+                return POSITIONAL_OPS;
+            });
+            measure("get", subject, size, true, (list, n) -> {
+                Random random = new Random(42);
+                long sum = 0;
+                for (int i = 0; i < POSITIONAL_OPS; i++)
+                    sum += list.get(random.nextInt(n));
+                sink = sum;
+                return POSITIONAL_OPS;
+            });
+            measure("remove(index)", subject, size, true, (list, n) -> {
+                Random random = new Random(42);
+                int ops = Math.min(POSITIONAL_OPS, n);
+                for (int i = 0; i < ops; i++)
+                    list.remove(random.nextInt(list.size()));
+                return ops;
+            });
+            measure("indexOf", subject, size, true, (list, n) -> {
+                Random random = new Random(42);
+                int ops = Math.max(1, Math.min(POSITIONAL_OPS, 10_000_000 / n));
+                long sum = 0;
+                for (int i = 0; i < ops; i++)
+                    sum += list.indexOf(random.nextInt(n));
+                sink = sum;
+                return ops;
+            });
+        }
+        measure("removeIf", subject, size, true, (list, n) -> {
+            list.removeIf(x -> (x & 1) == 0);
+            return n;
+        });
+        measure("sort", subject, size, true, (list, n) -> {
+            //Сортировка по перевёрнутым битам, чтобы на уже упорядоченных данных не было готовых серий
+            list.sort(Comparator.comparingInt(Integer::reverse));
+            return n;
+        });
+        measure("iterate", subject, size, true, (list, n) -> {
+            long sum = 0;
+            for (Integer x : list)
+                sum += x;
+            sink = sum;
+            return n;
+        });
+        measure("parallelStream", subject, size, true, (list, n) -> {
+            sink = list.parallelStream().mapToLong(Integer::longValue).sum();
+            return n;
+        });
+    }
+
+    //Сравнивает removeAll с поиском по аргументу-списку линейным проходом и через HashSet при разных
+    //размерах аргумента. Время печатается в наносекундах на элемент списка
+    private static void removeAllCrossover() {
+        Subject linear = new Subject("linear", () -> {
+            CustomArrayList<Integer> list = new CustomArrayList<>();
+            list.setBatchRemoveHashThreshold(Integer.MAX_VALUE);
+            return list;
+        }, false);
+        Subject hashed = new Subject("hash", () -> {
+            CustomArrayList<Integer> list = new CustomArrayList<>();
+            list.setBatchRemoveHashThreshold(0);
+            return list;
+        }, false);
+        System.out.printf("%-18s %-18s %10s %14s%n", "operation", "lookup", "size", "ns/element");
+        for (int m : REMOVE_ALL_ARGUMENT_SIZES) {
+            List<Integer> argument = new ArrayList<>();
+            for (int i = 0; i < m; i++)
+                argument.add(i * (REMOVE_ALL_LIST_SIZE / m));
+            for (Subject subject : List.of(linear, hashed)) {
+                measure("removeAll", new Subject(subject.name() + " m=" + m, subject.factory(), false),
+                        REMOVE_ALL_LIST_SIZE, true, (list, n) -> {
+                            list.removeAll(argument);
+                            return n;
+                        });
+            }
+        }
+    }
+
+    //Замеряет одну операцию. Если prefill = true, список перед каждым прогоном заполняется size элементами,
+    //и время заполнения в замер не входит
+    static void measure(String name, Subject subject, int size, boolean prefill, Operation op) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURE_ROUNDS; round++) {
+            List<Integer> list = subject.factory().get();
+            if (prefill) {
+                for (int i = 0; i < size; i++)
+                    list.add(i);
+            }
+            long start = System.nanoTime();
+            int ops = op.run(list, size);
+            long perOp = (System.nanoTime() - start) / Math.max(1, ops);
+            if (round >= WARMUP_ROUNDS)
+                best = Math.min(best, perOp);
+        }
+        System.out.printf("%-18s %-18s %10d %14d%n", name, subject.name(), size, best);
+    }
+}
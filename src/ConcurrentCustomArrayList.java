@@ -0,0 +1,168 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//Потокобезопасный список только для добавления в конец, рассчитанный на много пишущих и мало читающих потоков.
+//Писатель резервирует себе слот атомарным увеличением счётчика reserved (CAS), поэтому писатели
+//не выстраиваются в очередь за общей блокировкой.
+//Элементы хранятся в корзинах, размеры которых растут степенями двойки: 16, 32, 64 и т. д.
+//Новая корзина публикуется через CAS в массиве корзин, а уже записанные корзины никогда не копируются,
+//поэтому при расширении списка ни одна запись не теряется.
+//Элемент становится виден читателям, когда счётчик published доходит до его индекса; писатели
+//продвигают этот счётчик строго по порядку, так что size() всегда означает, что все элементы
+//с меньшими индексами уже записаны. Зарезервированный слот публикуется в блоке finally, даже если запись
+//в него не удалась (например, не хватило памяти на новую корзину): иначе все следующие писатели
+//навсегда зависли бы в ожидании. Такой слот читается как null.
+//Удаление и вставка в середину не поддерживаются. Итераторы не генерируют
+//ConcurrentModificationException и видят элементы, опубликованные к моменту обращения
+public class ConcurrentCustomArrayList<A> extends AbstractList<A> implements RandomAccess {
+
+    //Размер первой корзины - 2^FIRST_BUCKET_SHIFT элементов
+    private static final int FIRST_BUCKET_SHIFT = 4;
+    private static final int FIRST_BUCKET_SIZE = 1 << FIRST_BUCKET_SHIFT;
+
+    //Количество корзин, достаточное для Integer.MAX_VALUE - FIRST_BUCKET_SIZE элементов
+    private static final int BUCKET_COUNT = 31 - FIRST_BUCKET_SHIFT;
+
+    //Максимальный размер списка
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_BUCKET_SIZE;
+
+    //Сколько раз писатель крутится в ожидании предшественника, прежде чем уступить процессор
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    //Доступ к элементам корзин с нужной семантикой памяти
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    //Корзины с элементами; корзина k вмещает FIRST_BUCKET_SIZE << k элементов
+    private final AtomicReferenceArray<Object[]> buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    //Количество зарезервированных слотов
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    //Количество опубликованных элементов, то есть размер списка, видимый читателям
+    private final AtomicInteger published = new AtomicInteger();
+
+    //Создает пустой список
+    public ConcurrentCustomArrayList() {
+    }
+
+    //Создает список, содержащий элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public ConcurrentCustomArrayList(Collection<? extends A> c) {
+        addAll(c);
+    }
+
+    //Номер корзины, в которой лежит элемент с указанным индексом
+    private static int bucketIndex(int index) {
+        int pos = index + FIRST_BUCKET_SIZE;
+        return (31 - Integer.numberOfLeadingZeros(pos)) - FIRST_BUCKET_SHIFT;
+    }
+
+    //Смещение элемента с указанным индексом внутри его корзины
+    private static int bucketOffset(int index) {
+        int pos = index + FIRST_BUCKET_SIZE;
+        return pos ^ Integer.highestOneBit(pos);
+    }
+
+    //Возвращает корзину с указанным номером, создавая её при необходимости.
+    //Если несколько потоков создают корзину одновременно, в массив попадает только одна из них
+    private Object[] bucket(int bucketIndex) {
+        Object[] bucket = buckets.get(bucketIndex);
+        if (bucket == null) {
+            Object[] created = new Object[FIRST_BUCKET_SIZE << bucketIndex];
+            bucket = buckets.compareAndExchange(bucketIndex, null, created);
+            if (bucket == null)
+                bucket = created;
+        }
+        return bucket;
+    }
+
+    //Резервирует count слотов и возвращает индекс первого из них
+    //Может генерировать OutOfMemoryError, если список достиг максимального размера
+    private int reserve(int count) {
+        int first;
+        do {
+            first = reserved.get();
+            if (first > MAX_SIZE - count)
+                throw new OutOfMemoryError("List size limit reached");
+        } while (!reserved.compareAndSet(first, first + count));
+        return first;
+    }
+
+    //Делает видимыми элементы в слотах [first, first + count). Ждёт, пока будут опубликованы
+    //все предыдущие слоты, чтобы размер списка никогда не включал незаписанные элементы
+    private void publish(int first, int count) {
+        int spins = 0;
+        while (published.get() != first) {
+            if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                spins = 0;
+                Thread.yield();
+            }
+        }
+        published.set(first + count);
+    }
+
+    //Добавляет указанный элемент в конец списка
+    @Override
+    public boolean add(A e) {
+        int i = reserve(1);
+        try {
+            ELEMENT.setRelease(bucket(bucketIndex(i)), bucketOffset(i), e);
+        } finally {
+            publish(i, 1);
+        }
+        return true;
+    }
+
+    //Добавляет все элементы коллекции в конец списка одним резервированием.
+    //Элементы коллекции идут в списке подряд, без вкраплений элементов других потоков
+    @Override
+    public boolean addAll(Collection<? extends A> c) {
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        if (numNew == 0)
+            return false;
+        int first = reserve(numNew);
+        try {
+            for (int k = 0; k < numNew; ) {
+                int i = first + k;
+                Object[] bucket = bucket(bucketIndex(i));
+                int offset = bucketOffset(i);
+                int n = Math.min(numNew - k, bucket.length - offset);
+                System.arraycopy(a, k, bucket, offset, n);
+                k += n;
+            }
+        } finally {
+            VarHandle.releaseFence();
+            publish(first, numNew);
+        }
+        return true;
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    //Может генерировать IndexOutOfBoundsException, если элемент с таким индексом ещё не опубликован
+    //Слот, запись в который не удалась из-за нехватки памяти на корзину, читается как null
+    @Override
+    public A get(int index) {
+        Objects.checkIndex(index, published.get());
+        Object[] bucket = buckets.get(bucketIndex(index));
+        return (bucket == null) ? null : (A) ELEMENT.getAcquire(bucket, bucketOffset(index));
+    }
+
+    //Атомарно заменяет элемент в указанной позиции и возвращает прежний
+    @Override
+    public A set(int index, A element) {
+        Objects.checkIndex(index, published.get());
+        return (A) ELEMENT.getAndSet(bucket(bucketIndex(index)), bucketOffset(index), element);
+    }
+
+    //Возвращает количество опубликованных элементов
+    @Override
+    public int size() {
+        return published.get();
+    }
+}
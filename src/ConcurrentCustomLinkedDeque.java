@@ -0,0 +1,399 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+//Потокобезопасная двусторонняя очередь без блокировок - многопоточный вариант CustomLinkedList для работы с концами.
+//Основана на алгоритме якоря (anchor) М. Майкла (M. Michael, «CAS-Based Lock-Free Algorithm for Shared Deques», 2003).
+//Якорь - неизменяемый объект с крайним левым и крайним правым узлами, состоянием и размером очереди.
+//Любая операция заменяет якорь целиком одной операцией CAS, поэтому первый/последний узел и размер
+//всегда согласованы, а производители и потребители на обоих концах не ждут общей блокировки.
+//Добавление в два шага: CAS якоря ставит новый узел крайним и переводит якорь в состояние RPUSH/LPUSH,
+//затем ссылка соседнего узла на новый узел дописывается CAS и якорь возвращается в STABLE.
+//Любой поток, увидевший нестабильный якорь, сам доводит эту операцию до конца, поэтому остановка одного
+//потока не блокирует остальные.
+//Элементы не могут быть равны null. Удаление из середины очереди (removeFirstOccurrence,
+//removeLastOccurrence, remove у итератора) не поддерживается.
+//Итераторы слабо согласованы: они не генерируют ConcurrentModificationException и проходят по элементам,
+//которые были в очереди в момент создания итератора и ещё не удалены с правого конца
+public class ConcurrentCustomLinkedDeque<B> extends AbstractCollection<B> implements Deque<B> {
+
+    //Состояния якоря: очередь стабильна; идёт добавление справа; идёт добавление слева
+    private static final int STABLE = 0;
+    private static final int RPUSH = 1;
+    private static final int LPUSH = 2;
+
+    //Доступ к ссылкам узлов для операций CAS
+    private static final VarHandle LEFT;
+    private static final VarHandle RIGHT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LEFT = lookup.findVarHandle(Node.class, "left", Node.class);
+            RIGHT = lookup.findVarHandle(Node.class, "right", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    //Текущий якорь очереди
+    private final AtomicReference<Anchor<B>> anchor = new AtomicReference<>(new Anchor<>(null, null, STABLE, 0));
+
+    //Создает пустую очередь
+    public ConcurrentCustomLinkedDeque() {
+    }
+
+    //Создает очередь, содержащую элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция или один из её элементов равны null
+    public ConcurrentCustomLinkedDeque(Collection<? extends B> c) {
+        addAll(c);
+    }
+
+    //Узел очереди. Элемент узла не меняется
+    private static final class Node<B> {
+        final B item;
+        volatile Node<B> left;
+        volatile Node<B> right;
+
+        Node(B item) {
+            this.item = item;
+        }
+    }
+
+    //Неизменяемый якорь: крайние узлы, состояние и размер очереди
+    private static final class Anchor<B> {
+        final Node<B> left;
+        final Node<B> right;
+        final int status;
+        final int size;
+
+        Anchor(Node<B> left, Node<B> right, int status, int size) {
+            this.left = left;
+            this.right = right;
+            this.status = status;
+            this.size = size;
+        }
+    }
+
+    //Добавляем элемент в конец очереди
+    //Может генерировать NullPointerException в случае, если элемент равен null
+    public void addLast(B e) {
+        final Node<B> node = new Node<>(Objects.requireNonNull(e));
+        while (true) {
+            final Anchor<B> a = anchor.get();
+            if (a.right == null) {
+                if (anchor.compareAndSet(a, new Anchor<>(node, node, STABLE, 1)))
+                    return;
+            } else if (a.status == STABLE) {
+                node.left = a.right;
+                Anchor<B> pushed = new Anchor<>(a.left, node, RPUSH, a.size + 1);
+                if (anchor.compareAndSet(a, pushed)) {
+                    stabilizeRight(pushed);
+                    return;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    //Добавляем элемент в начало очереди
+    //Может генерировать NullPointerException в случае, если элемент равен null
+    public void addFirst(B e) {
+        final Node<B> node = new Node<>(Objects.requireNonNull(e));
+        while (true) {
+            final Anchor<B> a = anchor.get();
+            if (a.left == null) {
+                if (anchor.compareAndSet(a, new Anchor<>(node, node, STABLE, 1)))
+                    return;
+            } else if (a.status == STABLE) {
+                node.right = a.left;
+                Anchor<B> pushed = new Anchor<>(node, a.right, LPUSH, a.size + 1);
+                if (anchor.compareAndSet(a, pushed)) {
+                    stabilizeLeft(pushed);
+                    return;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    //Извлекает и удаляет последний элемент очереди или возвращает null, если очередь пуста
+    public B pollLast() {
+        while (true) {
+            final Anchor<B> a = anchor.get();
+            final Node<B> r = a.right;
+            if (r == null)
+                return null;
+            if (r == a.left) {
+                if (anchor.compareAndSet(a, new Anchor<>(null, null, STABLE, 0)))
+                    return r.item;
+            } else if (a.status == STABLE) {
+                final Node<B> prev = r.left;
+                if (anchor.compareAndSet(a, new Anchor<>(a.left, prev, STABLE, a.size - 1))) {
+                    //Обрываем ссылку удалённого узла, чтобы цепочка удалённых узлов не удерживалась в памяти
+                    r.right = null;
+                    return r.item;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    //Извлекает и удаляет первый элемент очереди или возвращает null, если очередь пуста
+    public B pollFirst() {
+        while (true) {
+            final Anchor<B> a = anchor.get();
+            final Node<B> l = a.left;
+            if (l == null)
+                return null;
+            if (l == a.right) {
+                if (anchor.compareAndSet(a, new Anchor<>(null, null, STABLE, 0)))
+                    return l.item;
+            } else if (a.status == STABLE) {
+                final Node<B> next = l.right;
+                if (anchor.compareAndSet(a, new Anchor<>(next, a.right, STABLE, a.size - 1))) {
+                    l.left = null;
+                    return l.item;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    //Доводит до конца добавление, начатое другим потоком
+    private void stabilize(Anchor<B> a) {
+        if (a.status == RPUSH)
+            stabilizeRight(a);
+        else
+            stabilizeLeft(a);
+    }
+
+    //Второй шаг добавления справа: ссылка right предпоследнего узла указывает на новый крайний узел,
+    //после чего якорь становится стабильным. Если якорь уже сменился, операцию завершил другой поток
+    private void stabilizeRight(Anchor<B> a) {
+        final Node<B> prev = a.right.left;
+        if (anchor.get() != a)
+            return;
+        final Node<B> prevNext = prev.right;
+        if (prevNext != a.right) {
+            if (anchor.get() != a)
+                return;
+            if (!RIGHT.compareAndSet(prev, prevNext, a.right))
+                return;
+        }
+        anchor.compareAndSet(a, new Anchor<>(a.left, a.right, STABLE, a.size));
+    }
+
+    //Второй шаг добавления слева, зеркальный stabilizeRight
+    private void stabilizeLeft(Anchor<B> a) {
+        final Node<B> next = a.left.right;
+        if (anchor.get() != a)
+            return;
+        final Node<B> nextPrev = next.left;
+        if (nextPrev != a.left) {
+            if (anchor.get() != a)
+                return;
+            if (!LEFT.compareAndSet(next, nextPrev, a.left))
+                return;
+        }
+        anchor.compareAndSet(a, new Anchor<>(a.left, a.right, STABLE, a.size));
+    }
+
+    //Вставляет указанный элемент в начало очереди
+    public boolean offerFirst(B e) {
+        addFirst(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в конец очереди
+    public boolean offerLast(B e) {
+        addLast(e);
+        return true;
+    }
+
+    //Удаляем первый элемент очереди и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B removeFirst() {
+        B e = pollFirst();
+        if (e == null)
+            throw new NoSuchElementException();
+        return e;
+    }
+
+    //Удаляем последний элемент очереди и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B removeLast() {
+        B e = pollLast();
+        if (e == null)
+            throw new NoSuchElementException();
+        return e;
+    }
+
+    //Извлекает, но не удаляет, первый элемент очереди или возвращает null, если очередь пуста
+    public B peekFirst() {
+        final Node<B> l = anchor.get().left;
+        return (l == null) ? null : l.item;
+    }
+
+    //Извлекает, но не удаляет, последний элемент очереди или возвращает null, если очередь пуста
+    public B peekLast() {
+        final Node<B> r = anchor.get().right;
+        return (r == null) ? null : r.item;
+    }
+
+    //Получаем первый элемент очереди
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B getFirst() {
+        B e = peekFirst();
+        if (e == null)
+            throw new NoSuchElementException();
+        return e;
+    }
+
+    //Получаем последний элемент очереди
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B getLast() {
+        B e = peekLast();
+        if (e == null)
+            throw new NoSuchElementException();
+        return e;
+    }
+
+    //Удаление из середины очереди не поддерживается
+    public boolean removeFirstOccurrence(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean removeLastOccurrence(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Добавляет указанный элемент в конец очереди
+    @Override
+    public boolean add(B e) {
+        addLast(e);
+        return true;
+    }
+
+    //Добавляет указанный элемент в конец очереди
+    public boolean offer(B e) {
+        return offerLast(e);
+    }
+
+    //Удаляет и возвращает первый элемент очереди
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B remove() {
+        return removeFirst();
+    }
+
+    //Удаляет и возвращает первый элемент очереди или null, если очередь пуста
+    public B poll() {
+        return pollFirst();
+    }
+
+    //Возвращает первый элемент очереди
+    //Может генерировать NoSuchElementException в случае, если очередь пуста
+    public B element() {
+        return getFirst();
+    }
+
+    //Возвращает первый элемент очереди или null, если очередь пуста
+    public B peek() {
+        return peekFirst();
+    }
+
+    //Вставляет элемент в начало очереди. Этот метод эквивалентен addFirst
+    public void push(B e) {
+        addFirst(e);
+    }
+
+    //Удаляет и возвращает первый элемент очереди. Этот метод эквивалентен removeFirst()
+    public B pop() {
+        return removeFirst();
+    }
+
+    //Размер очереди, записанный в текущем якоре
+    @Override
+    public int size() {
+        return anchor.get().size;
+    }
+
+    //Метод определения, является ли очередь пустой
+    @Override
+    public boolean isEmpty() {
+        return anchor.get().left == null;
+    }
+
+    //Удаляет все элементы из очереди, по одному с левого конца
+    @Override
+    public void clear() {
+        while (pollFirst() != null)
+            ;
+    }
+
+    //Возвращает стабильный якорь, при необходимости доводя до конца начатое добавление
+    private Anchor<B> stableAnchor() {
+        while (true) {
+            final Anchor<B> a = anchor.get();
+            if (a.status == STABLE)
+                return a;
+            stabilize(a);
+        }
+    }
+
+    //Собирает элементы от левого до правого узла стабильного якоря. Если правый конец за это время
+    //укоротился и цепочка оборвалась, возвращаются уже собранные элементы
+    private ArrayList<B> snapshot() {
+        final Anchor<B> a = stableAnchor();
+        final ArrayList<B> items = new ArrayList<>(a.size);
+        for (Node<B> x = a.left; x != null; x = x.right) {
+            items.add(x.item);
+            if (x == a.right)
+                break;
+        }
+        return items;
+    }
+
+    //Возвращает массив с элементами очереди на момент вызова
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return snapshot().toArray(a);
+    }
+
+    //Слабо согласованный итератор по элементам очереди на момент вызова. remove не поддерживается
+    @Override
+    public Iterator<B> iterator() {
+        return Collections.unmodifiableList(snapshot()).iterator();
+    }
+
+    //Слабо согласованный итератор по нисхождению. remove не поддерживается
+    public Iterator<B> descendingIterator() {
+        final ListIterator<B> itr = Collections.unmodifiableList(snapshot()).listIterator();
+        while (itr.hasNext())
+            itr.next();
+        return new Iterator<B>() {
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            public B next() {
+                return itr.previous();
+            }
+        };
+    }
+}
@@ -1,10 +1,20 @@
+import java.io.IOException;
 import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.function.UnaryOperator;
-import jdk.internal.access.SharedSecrets;
-import jdk.internal.util.ArraysSupport;
 
 public class CustomArrayList<A> extends AbstractList<A>
         implements List<A>, RandomAccess, Cloneable, java.io.Serializable {
@@ -16,6 +26,30 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Ёмкость экземпляра ArrayList по умолчанию
     private static final int DEFAULT_CAPACITY = 10;
 
+    //Размер списка по умолчанию, начиная с которого сортировка выполняется параллельно
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    //Размер коллекции по умолчанию, начиная с которого removeAll и retainAll ищут элементы через HashSet
+    private static final int DEFAULT_BATCH_REMOVE_HASH_THRESHOLD = 16;
+
+    //Формат файла, который пишет save: заголовок из сигнатуры, версии, размера элемента, резервного поля
+    //и количества элементов, затем элементы подряд в раскладке ElementLayout
+    private static final int STORE_MAGIC = 0x43414C53; // "CALS"
+    private static final int STORE_VERSION = 1;
+    private static final int STORE_HEADER_BYTES = 24;
+
+    //Размер буфера, через который save пишет элементы в файл
+    private static final int SAVE_CHUNK_BYTES = 1 << 16;
+
+    //Максимальный размер одного отображённого в память участка файла
+    private static final int MAPPED_REGION_BYTES = 1 << 30;
+
+    //Минимальный размер участка, который при параллельной сортировке сортируется одним потоком
+    private static final int MIN_SORT_GRAIN = 1 << 13;
+
+    //Минимальный размер участка, который параллельные массовые операции обрабатывают одним потоком
+    private static final int MIN_PARALLEL_CHUNK = 1 << 12;
+
     //Пустой экземпляр массива для создания пустого ArrayList
     private static final Object[] EMPTY_ELEMENTDATA = {};
 
@@ -31,6 +65,38 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Размер массива
     private int size;
 
+    //Стратегия расширения буфера списка. По умолчанию буфер растёт в полтора раза
+    private transient GrowthPolicy growthPolicy = GrowthPolicy.DEFAULT;
+
+    //Размер списка, начиная с которого сортировка и методы parallel* выполняются параллельно
+    //в общем пуле ForkJoinPool
+    private transient int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    //Размер коллекции-аргумента removeAll/retainAll, начиная с которого по ней строится HashSet
+    private transient int batchRemoveHashThreshold = DEFAULT_BATCH_REMOVE_HASH_THRESHOLD;
+
+    //Необязательный индекс: элемент -> позиции этого элемента в списке по возрастанию.
+    //null, если индекс не включён
+    private transient HashMap<Object, CustomIntArrayList> positionIndex;
+
+    //Значение modCount, при котором индекс позиций был актуален. Если modCount изменился,
+    //индекс перестраивается при следующем поиске
+    private transient int positionIndexModCount;
+
+    //Минимальный размер части, на которые делит список сплитератор. По умолчанию 1, то есть
+    //сплитератор делит список вплоть до отдельных элементов
+    private transient int spliteratorGrain = 1;
+
+    //Дополнительные характеристики сплитератора (NONNULL, IMMUTABLE), которые обещает владелец списка
+    private transient int spliteratorCharacteristics;
+
+    //Включено ли запоминание хэш-кода
+    private transient boolean hashCacheEnabled;
+
+    //Запомненный хэш-код и значение modCount, при котором он был актуален
+    private transient int cachedHash;
+    private transient int cachedHashModCount;
+
     //Создаём 3 конструктора на разные ситуации
 
     //Первый конструктор. Создает пустой список с указанной начальной емкостью
@@ -46,6 +112,13 @@ public class CustomArrayList<A> extends AbstractList<A>
         }
     }
 
+    //Второй вариант первого конструктора. Дополнительно задаёт стратегию расширения буфера
+    //Может генерировать NullPointerException в случае, если стратегия имеет значение null
+    public CustomArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this(initialCapacity);
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
     //Второй конструктор. Создает пустой список с начальной емкостью, по умолчанию равной десяти
     public CustomArrayList() {
         this.elementData = DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
@@ -73,7 +146,7 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Сокращает ёмкость этого экземпляра ArrayList до текущего размера списка
     //Эту операцию стоит использовать, чтобы минимизировать объем памяти для экземпляра ArrayList
     public void trimToSize() {
-        modCount++;
+        keepDerivedState(modCount++);
         if (size < elementData.length) {
             elementData = (size == 0)
                     ? EMPTY_ELEMENTDATA
@@ -81,6 +154,301 @@ public class CustomArrayList<A> extends AbstractList<A>
         }
     }
 
+    //Возвращает текущую стратегию расширения буфера
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
+    }
+
+    //Задаёт стратегию расширения буфера. Уже выделенный буфер не меняется
+    //Может генерировать NullPointerException в случае, если стратегия имеет значение null
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    //Возвращает размер списка, начиная с которого сортировка и методы parallel* выполняются параллельно
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    //Задаёт размер списка, начиная с которого сортировка и методы parallel* выполняются параллельно
+    //Генерит исключение IllegalArgumentException, если порог меньше единицы
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Illegal parallel threshold: " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    //Возвращает размер коллекции, начиная с которого removeAll и retainAll ищут элементы через HashSet
+    public int getBatchRemoveHashThreshold() {
+        return batchRemoveHashThreshold;
+    }
+
+    //Задаёт размер коллекции, начиная с которого removeAll и retainAll ищут элементы через HashSet.
+    //Integer.MAX_VALUE отключает построение HashSet
+    //Генерит исключение IllegalArgumentException, если порог отрицательный
+    public void setBatchRemoveHashThreshold(int batchRemoveHashThreshold) {
+        if (batchRemoveHashThreshold < 0) {
+            throw new IllegalArgumentException("Illegal hash threshold: " + batchRemoveHashThreshold);
+        }
+        this.batchRemoveHashThreshold = batchRemoveHashThreshold;
+    }
+
+    //Возвращает минимальный размер части, на которые делит список сплитератор
+    public int getSpliteratorGrain() {
+        return spliteratorGrain;
+    }
+
+    //Задаёт минимальный размер части, на которые делит список сплитератор. Параллельный поток
+    //не создаёт задачи меньше этого размера, поэтому накладные расходы на задачу окупаются
+    //Генерит исключение IllegalArgumentException, если размер меньше единицы
+    public void setSpliteratorGrain(int spliteratorGrain) {
+        if (spliteratorGrain < 1) {
+            throw new IllegalArgumentException("Illegal spliterator grain: " + spliteratorGrain);
+        }
+        this.spliteratorGrain = spliteratorGrain;
+    }
+
+    //Возвращает дополнительные характеристики сплитератора
+    public int getSpliteratorCharacteristics() {
+        return spliteratorCharacteristics;
+    }
+
+    //Задаёт дополнительные характеристики сплитератора: Spliterator.NONNULL, если в списке нет null,
+    //и Spliterator.IMMUTABLE, если список больше не будет изменяться. Список эти обещания не проверяет
+    //Генерит исключение IllegalArgumentException, если передана другая характеристика
+    public void setSpliteratorCharacteristics(int characteristics) {
+        if ((characteristics & ~(Spliterator.NONNULL | Spliterator.IMMUTABLE)) != 0) {
+            throw new IllegalArgumentException("Illegal spliterator characteristics: " + characteristics);
+        }
+        this.spliteratorCharacteristics = characteristics;
+    }
+
+    //Включает хэш-индекс позиций элементов. После этого contains, indexOf, lastIndexOf и remove(Object)
+    //находят элемент за O(1) вместо линейного прохода. Добавление, вставка и удаление по индексу и set
+    //обновляют индекс сразу: позиции сдвинутых элементов поправляются на месте, без перестройки.
+    //После массовых операций (removeAll, retainAll, removeIf, sort, replaceAll) индекс перестраивается
+    //при следующем поиске - эти операции сами проходят весь список, так что перестройка не меняет их порядок
+    public void enablePositionIndex() {
+        if (positionIndex == null) {
+            positionIndex = new HashMap<>();
+            rebuildPositionIndex();
+        }
+    }
+
+    //Выключает хэш-индекс позиций и освобождает занятую им память
+    public void disablePositionIndex() {
+        positionIndex = null;
+    }
+
+    //Проверяет, включён ли хэш-индекс позиций
+    public boolean isPositionIndexEnabled() {
+        return positionIndex != null;
+    }
+
+    //Включает запоминание хэш-кода. Хэш-код вычисляется при следующем вызове hashCode и затем
+    //поддерживается: добавление в конец дописывает в него новые элементы, set поправляет вклад одного элемента,
+    //а после остальных изменений списка хэш-код вычисляется заново при следующем обращении
+    public void enableHashCache() {
+        if (!hashCacheEnabled) {
+            hashCacheEnabled = true;
+            invalidateCachedHash();
+        }
+    }
+
+    //Выключает запоминание хэш-кода
+    public void disableHashCache() {
+        hashCacheEnabled = false;
+    }
+
+    //Проверяет, включено ли запоминание хэш-кода
+    public boolean isHashCacheEnabled() {
+        return hashCacheEnabled;
+    }
+
+    //Помечает запомненный хэш-код устаревшим
+    private void invalidateCachedHash() {
+        cachedHashModCount = ~modCount;
+    }
+
+    //Сохраняет актуальность индекса позиций и хэш-кода после изменения modCount операцией,
+    //которая не меняет элементы (например, при смене ёмкости буфера)
+    private void keepDerivedState(int previousModCount) {
+        keepPositionIndex(previousModCount);
+        if (cachedHashModCount == previousModCount)
+            cachedHashModCount = modCount;
+    }
+
+    //Дописывает в хэш-код элементы, добавленные в конец списка начиная с позиции from.
+    //Вызывается после modCount++; если до добавления хэш-код был неактуален, он остаётся неактуальным
+    private void hashAppended(int from) {
+        if (cachedHashModCount != modCount - 1)
+            return;
+        final Object[] es = elementData;
+        int hashCode = cachedHash;
+        for (int i = from, s = size; i < s; i++) {
+            Object e = es[i];
+            hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
+        }
+        cachedHash = hashCode;
+        cachedHashModCount = modCount;
+    }
+
+    //Поправляет хэш-код после замены элемента с индексом i: вклад элемента в хэш-код равен
+    //его хэш-коду, умноженному на 31 в степени (size - 1 - i)
+    private void hashReplaced(int i, Object oldValue, Object newValue) {
+        if (cachedHashModCount != modCount)
+            return;
+        int delta = (newValue == null ? 0 : newValue.hashCode()) - (oldValue == null ? 0 : oldValue.hashCode());
+        cachedHash += delta * pow31(size - 1 - i);
+    }
+
+    //Возводит 31 в степень n по модулю 2^32
+    static int pow31(int n) {
+        int result = 1, base = 31;
+        for (; n > 0; n >>>= 1) {
+            if ((n & 1) != 0)
+                result *= base;
+            base *= base;
+        }
+        return result;
+    }
+
+    //Возвращает актуальный индекс позиций, при необходимости перестраивая его
+    private HashMap<Object, CustomIntArrayList> positionIndex() {
+        if (positionIndexModCount != modCount)
+            rebuildPositionIndex();
+        return positionIndex;
+    }
+
+    //Заново заполняет индекс позиций по текущему содержимому списка
+    private void rebuildPositionIndex() {
+        final HashMap<Object, CustomIntArrayList> index = positionIndex;
+        final Object[] es = elementData;
+        index.clear();
+        for (int i = 0, s = size; i < s; i++)
+            index.computeIfAbsent(es[i], k -> new CustomIntArrayList(1)).addInt(i);
+        positionIndexModCount = modCount;
+    }
+
+    //Сохраняет актуальность индекса позиций после изменения modCount операцией, которая не двигает элементы
+    //(например, при смене ёмкости буфера). previousModCount - значение modCount до изменения
+    private void keepPositionIndex(int previousModCount) {
+        if (positionIndex != null && positionIndexModCount == previousModCount)
+            positionIndexModCount = modCount;
+    }
+
+    //Помечает индекс позиций устаревшим
+    private void invalidatePositionIndex() {
+        positionIndexModCount = ~modCount;
+    }
+
+    //Дописывает в индекс позиции элементов, добавленных в конец списка начиная с позиции from.
+    //Вызывается после modCount++; если до добавления индекс был неактуален, он остаётся неактуальным
+    private void indexAppended(int from) {
+        if (positionIndexModCount != modCount - 1)
+            return;
+        final HashMap<Object, CustomIntArrayList> index = positionIndex;
+        final Object[] es = elementData;
+        for (int i = from, s = size; i < s; i++)
+            index.computeIfAbsent(es[i], k -> new CustomIntArrayList(1)).addInt(i);
+        positionIndexModCount = modCount;
+    }
+
+    //Переносит позицию i в индексе от старого элемента к новому после замены элемента методом set
+    private void indexReplaced(int i, Object oldValue, Object newValue) {
+        if (positionIndexModCount != modCount || Objects.equals(oldValue, newValue))
+            return;
+        final HashMap<Object, CustomIntArrayList> index = positionIndex;
+        CustomIntArrayList positions = index.get(oldValue);
+        positions.removeIntAt(searchPosition(positions, i));
+        if (positions.isEmpty())
+            index.remove(oldValue);
+        positions = index.computeIfAbsent(newValue, k -> new CustomIntArrayList(1));
+        positions.addInt(-(searchPosition(positions, i) + 1), i);
+    }
+
+    //Поправляет индекс после вставки numNew элементов в позицию index: позиции сдвинутых вправо элементов
+    //увеличиваются на numNew, а позиции новых элементов добавляются. Вызывается после modCount++ и сдвига
+    //элементов; если до вставки индекс был неактуален, он остаётся неактуальным
+    private void indexInserted(int index, int numNew) {
+        if (positionIndexModCount != modCount - 1)
+            return;
+        final HashMap<Object, CustomIntArrayList> positionIndex = this.positionIndex;
+        final Object[] es = elementData;
+        final int s = size;
+        if (s - index - numNew < positionIndex.size()) {
+            for (int i = s - 1; i >= index + numNew; i--)
+                movePosition(es[i], i - numNew, i);
+        } else {
+            shiftPositions(index, numNew);
+        }
+        for (int i = index; i < index + numNew; i++) {
+            CustomIntArrayList positions = positionIndex.computeIfAbsent(es[i], k -> new CustomIntArrayList(1));
+            positions.addInt(-(searchPosition(positions, i) + 1), i);
+        }
+        positionIndexModCount = modCount;
+    }
+
+    //Поправляет индекс перед удалением элементов с позициями от from включительно до to, не включая:
+    //позиции удаляемых элементов убираются, а позиции элементов за ними уменьшаются на (to - from).
+    //Вызывается после modCount++, но до сдвига элементов; если до удаления индекс был неактуален,
+    //он остаётся неактуальным
+    private void indexRemoved(int from, int to) {
+        if (positionIndexModCount != modCount - 1)
+            return;
+        final HashMap<Object, CustomIntArrayList> positionIndex = this.positionIndex;
+        final Object[] es = elementData;
+        final int s = size, width = to - from;
+        for (int i = from; i < to; i++) {
+            CustomIntArrayList positions = positionIndex.get(es[i]);
+            positions.removeIntAt(searchPosition(positions, i));
+            if (positions.isEmpty())
+                positionIndex.remove(es[i]);
+        }
+        if (s - to < positionIndex.size()) {
+            for (int i = to; i < s; i++)
+                movePosition(es[i], i, i - width);
+        } else {
+            shiftPositions(to, -width);
+        }
+        positionIndexModCount = modCount;
+    }
+
+    //Заменяет в индексе позицию from элемента e на позицию to. Порядок позиций элемента не нарушается,
+    //если сдвигаемые элементы обходятся в направлении сдвига
+    private void movePosition(Object e, int from, int to) {
+        CustomIntArrayList positions = positionIndex.get(e);
+        positions.setInt(searchPosition(positions, from), to);
+    }
+
+    //Прибавляет delta ко всем позициям индекса, которые не меньше from. Выгоднее поэлементного сдвига,
+    //когда различных элементов меньше, чем сдвигаемых позиций
+    private void shiftPositions(int from, int delta) {
+        for (CustomIntArrayList positions : positionIndex.values()) {
+            int j = searchPosition(positions, from);
+            for (j = (j < 0) ? -(j + 1) : j; j < positions.size(); j++)
+                positions.setInt(j, positions.getInt(j) + delta);
+        }
+    }
+
+    //Двоичный поиск позиции в упорядоченном списке позиций. Возвращает индекс найденной позиции
+    //или (-(точка вставки) - 1), если такой позиции нет
+    private static int searchPosition(CustomIntArrayList positions, int position) {
+        int lo = 0, hi = positions.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int p = positions.getInt(mid);
+            if (p < position)
+                lo = mid + 1;
+            else if (p > position)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+
     //При необходимости увеличивает емкость списка ArrayList, чтобы гарантировать минимальную емкость
     //Параметры:
     //minCapacity – желаемая минимальная емкость
@@ -88,21 +456,23 @@ public class CustomArrayList<A> extends AbstractList<A>
         if (minCapacity > elementData.length
                 && !(elementData == DEFAULTCAPACITY_EMPTY_ELEMENTDATA
                 && minCapacity <= DEFAULT_CAPACITY)) {
-            modCount++;
+            keepDerivedState(modCount++);
             grow(minCapacity);
         }
     }
 
-    //Увеличивает ёмкость списка до минимальной
+    //Увеличивает ёмкость списка до минимальной. Новую ёмкость выбирает стратегия growthPolicy
     //Параметры:
     //minCapacity – желаемая минимальная емкость
     //Может генерировать исключение OutOfMemoryError в случае, если minCapacity меньше нуля
     private Object[] grow(int minCapacity) {
         int oldCapacity = elementData.length;
         if (oldCapacity > 0 || elementData != DEFAULTCAPACITY_EMPTY_ELEMENTDATA) {
-            int newCapacity = ArraysSupport.newLength(oldCapacity,
-                    minCapacity - oldCapacity, /* minimum growth */
-                    oldCapacity >> 1           /* preferred growth */);
+            int newCapacity = growthPolicy.newCapacity(oldCapacity, minCapacity);
+            if (newCapacity < minCapacity) {
+                throw new IllegalStateException("Growth policy returned " + newCapacity
+                        + " for minimum capacity " + minCapacity);
+            }
             return elementData = Arrays.copyOf(elementData, newCapacity);
         } else {
             return elementData = new Object[Math.max(DEFAULT_CAPACITY, minCapacity)];
@@ -132,6 +502,10 @@ public class CustomArrayList<A> extends AbstractList<A>
 
     //Возвращает индекс первого вхождения указанного элемента в списке или -1, если список не содержит данный элемент
     public int indexOf(Object o) {
+        if (positionIndex != null) {
+            CustomIntArrayList positions = positionIndex().get(o);
+            return (positions == null) ? -1 : positions.getInt(0);
+        }
         return indexOfRange(o, 0, size);
     }
 
@@ -156,6 +530,10 @@ public class CustomArrayList<A> extends AbstractList<A>
 
     //Возвращает индекс последнего вхождения указанного элемента в списке или -1, если список не содержит данный элемент
     public int lastIndexOf(Object o) {
+        if (positionIndex != null) {
+            CustomIntArrayList positions = positionIndex().get(o);
+            return (positions == null) ? -1 : positions.getInt(positions.size() - 1);
+        }
         return lastIndexOfRange(o, 0, size);
     }
 
@@ -184,7 +562,12 @@ public class CustomArrayList<A> extends AbstractList<A>
         try {
             CustomArrayList<?> v = (CustomArrayList<?>) super.clone();
             v.elementData = Arrays.copyOf(elementData, size);
+            v.cachedHashModCount = (cachedHashModCount == modCount) ? 0 : ~0;
             v.modCount = 0;
+            if (v.positionIndex != null) {
+                v.positionIndex = new HashMap<>();
+                v.invalidatePositionIndex();
+            }
             return v;
         } catch (CloneNotSupportedException e) {
             //Если что-то пошло не так во время копирования, генерируется исключение
@@ -192,6 +575,24 @@ public class CustomArrayList<A> extends AbstractList<A>
         }
     }
 
+    //Возвращает неизменяемую копию списка с массивом точного размера. Сам список остаётся без изменений
+    public FrozenCustomArrayList<A> snapshot() {
+        return FrozenCustomArrayList.wrap(Arrays.copyOf(elementData, size), spliteratorGrain);
+    }
+
+    //Передаёт элементы списка в неизменяемый список и очищает этот список.
+    //Если буфер уже имеет точный размер, он передаётся без копирования
+    public FrozenCustomArrayList<A> freeze() {
+        final Object[] es = elementData;
+        final int size = this.size;
+        modCount++;
+        FrozenCustomArrayList<A> frozen = FrozenCustomArrayList.wrap(
+                (es.length == size) ? es : Arrays.copyOf(es, size), spliteratorGrain);
+        elementData = EMPTY_ELEMENTDATA;
+        this.size = 0;
+        return frozen;
+    }
+
     //Создаёт и возвращает новый массив, содержащий все элементы списка в правильной последовательности
     //(от первого до последнего элемента).
     //Этот метод действует как мост между API-интерфейсами на основе массивов и коллекций.
@@ -245,6 +646,10 @@ public class CustomArrayList<A> extends AbstractList<A>
         Objects.checkIndex(index, size);
         A oldValue = elementData(index);
         elementData[index] = element;
+        if (positionIndex != null)
+            indexReplaced(index, oldValue, element);
+        if (hashCacheEnabled)
+            hashReplaced(index, oldValue, element);
         return oldValue;
     }
 
@@ -261,6 +666,10 @@ public class CustomArrayList<A> extends AbstractList<A>
     public boolean add(A e) {
         modCount++;
         add(e, elementData, size);
+        if (positionIndex != null)
+            indexAppended(size - 1);
+        if (hashCacheEnabled)
+            hashAppended(size - 1);
         return true;
     }
 
@@ -280,6 +689,8 @@ public class CustomArrayList<A> extends AbstractList<A>
                 s - index);
         elementData[index] = element;
         size = s + 1;
+        if (positionIndex != null)
+            indexInserted(index, 1);
     }
 
     //Версия метода rangeCheck, используемая методами add и addAll
@@ -310,6 +721,8 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Частный метод удаления, который пропускает проверку границ и не возвращает удаленное значение
     private void fastRemove(Object[] es, int i) {
         modCount++;
+        if (positionIndex != null)
+            indexRemoved(i, i + 1);
         final int newSize;
         if ((newSize = size - 1) > i)
             System.arraycopy(es, i + 1, es, i, newSize - i);
@@ -331,7 +744,7 @@ public class CustomArrayList<A> extends AbstractList<A>
 
         final int expectedModCount = modCount;
 
-        boolean equal = (o.getClass() == ArrayList.class)
+        boolean equal = (o.getClass() == CustomArrayList.class)
                 ? equalsArrayList((CustomArrayList<?>) o)
                 : equalsRange((List<?>) o, 0, size);
 
@@ -386,10 +799,17 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Метод возвращает целочисленное представление адреса памяти объекта. По умолчанию этот метод возвращает
     //случайное целое число, уникальное для каждого списка. Это целое число может измениться между несколькими
     //запусками приложения и не останется прежним
+    //Если запоминание хэш-кода включено, актуальный хэш-код возвращается без прохода по элементам
     public int hashCode() {
         int expectedModCount = modCount;
+        if (hashCacheEnabled && cachedHashModCount == expectedModCount)
+            return cachedHash;
         int hash = hashCodeRange(0, size);
         checkForComodification(expectedModCount);
+        if (hashCacheEnabled) {
+            cachedHash = hash;
+            cachedHashModCount = expectedModCount;
+        }
         return hash;
     }
 
@@ -416,6 +836,12 @@ public class CustomArrayList<A> extends AbstractList<A>
         final Object[] es = elementData;
         final int size = this.size;
         int i = 0;
+        if (positionIndex != null) {
+            if ((i = indexOf(o)) < 0)
+                return false;
+            fastRemove(es, i);
+            return true;
+        }
         found: {
             if (o == null) {
                 for (; i < size; i++)
@@ -459,6 +885,10 @@ public class CustomArrayList<A> extends AbstractList<A>
             elementData = grow(s + numNew);
         System.arraycopy(a, 0, elementData, s, numNew);
         size = s + numNew;
+        if (positionIndex != null)
+            indexAppended(s);
+        if (hashCacheEnabled)
+            hashAppended(s);
         return true;
     }
 
@@ -495,6 +925,8 @@ public class CustomArrayList<A> extends AbstractList<A>
                     numMoved);
         System.arraycopy(a, 0, elementData, index, numNew);
         size = s + numNew;
+        if (positionIndex != null)
+            indexInserted(index, numNew);
         return true;
     }
 
@@ -509,6 +941,8 @@ public class CustomArrayList<A> extends AbstractList<A>
                     outOfBoundsMsg(fromIndex, toIndex));
         }
         modCount++;
+        if (positionIndex != null)
+            indexRemoved(fromIndex, toIndex);
         shiftTailOverGap(elementData, fromIndex, toIndex);
     }
 
@@ -541,6 +975,7 @@ public class CustomArrayList<A> extends AbstractList<A>
     boolean batchRemove(Collection<?> c, boolean complement,
                         final int from, final int end) {
         Objects.requireNonNull(c);
+        c = lookupCollection(c, end - from);
         final Object[] es = elementData;
         int r;
 
@@ -566,6 +1001,19 @@ public class CustomArrayList<A> extends AbstractList<A>
         return true;
     }
 
+    //Выбирает коллекцию, по которой batchRemove будет проверять элементы.
+    //Если c не множество и не список с хэш-индексом, каждый вызов c.contains - это линейный проход,
+    //и removeAll/retainAll работают за O(n * m). Начиная с batchRemoveHashThreshold элементов
+    //дешевле один раз скопировать c в HashSet. Множества не копируются: у них contains и так быстрый,
+    //а их равенство элементов (например, у TreeSet с компаратором) может отличаться от equals
+    private Collection<?> lookupCollection(Collection<?> c, int rangeSize) {
+        if (rangeSize < 2 || c instanceof Set || c.size() < batchRemoveHashThreshold)
+            return c;
+        if (c instanceof CustomArrayList && ((CustomArrayList<?>) c).isPositionIndexEnabled())
+            return c;
+        return new HashSet<>(c);
+    }
+
     //Сохраняет в списке только те элементы, которые содержатся в указанной коллекции. Другими словами,
     //удаляет из списка все его элементы, не содержащиеся в указанной коллекции.
     //Параметры:
@@ -580,6 +1028,135 @@ public class CustomArrayList<A> extends AbstractList<A>
         return batchRemove(c, true, 0, size);
     }
 
+    //Сохраняет список в файл в компактном двоичном формате. В отличие от writeObject элементы не проходят
+    //по одному через ObjectOutputStream, а раскладываются в буфер по ElementLayout и пишутся в канал блоками.
+    //Если файл существует, он перезаписывается
+    //Может генерировать исключение IOException в случае, если возникает ошибка ввода/вывода, и
+    //IllegalArgumentException, если размер элемента в раскладке не положителен (файл при этом не трогается)
+    public void save(Path path, ElementLayout<? super A> layout) throws IOException {
+        final int expectedModCount = modCount;
+        final int elementSize = elementSize(layout);
+        final int perChunk = Math.max(1, SAVE_CHUNK_BYTES / elementSize);
+        final Object[] es = elementData;
+        final int size = this.size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(STORE_HEADER_BYTES);
+            header.putInt(STORE_MAGIC).putInt(STORE_VERSION).putInt(elementSize).putInt(0).putLong(size);
+            writeFully(channel, header.flip());
+            ByteBuffer chunk = ByteBuffer.allocateDirect(perChunk * elementSize);
+            for (int from = 0; from < size; from += perChunk) {
+                int n = Math.min(perChunk, size - from);
+                chunk.clear();
+                for (int i = 0; i < n; i++)
+                    layout.write(chunk, i * elementSize, elementAt(es, from + i));
+                writeFully(channel, chunk.limit(n * elementSize));
+            }
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    //Возвращает размер элемента раскладки в байтах
+    //Генерит исключение IllegalArgumentException, если размер не положителен
+    private static int elementSize(ElementLayout<?> layout) {
+        int elementSize = layout.byteSize();
+        if (elementSize <= 0) {
+            throw new IllegalArgumentException("Illegal element size: " + elementSize);
+        }
+        return elementSize;
+    }
+
+    //Пишет в канал всё содержимое буфера
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    //Загружает список из файла, записанного методом save. Файл отображается в память и
+    //сразу целиком декодируется в новый CustomArrayList
+    //Может генерировать исключение IOException в случае, если файл повреждён или раскладка не совпадает
+    public static <A> CustomArrayList<A> load(Path path, ElementLayout<A> layout) throws IOException {
+        List<A> mapped = mapped(path, layout);
+        int n = mapped.size();
+        CustomArrayList<A> list = new CustomArrayList<>(n);
+        Object[] es = list.elementData;
+        for (int i = 0; i < n; i++)
+            es[i] = mapped.get(i);
+        list.size = n;
+        return list;
+    }
+
+    //Открывает файл, записанный методом save, как список только для чтения, отображённый в память.
+    //Элементы декодируются при обращении к ним, поэтому открытие многогигабайтного файла не требует
+    //чтения всего файла. Файлы больше гигабайта отображаются несколькими участками
+    //Может генерировать исключение IOException в случае, если файл повреждён или раскладка не совпадает, и
+    //IllegalArgumentException, если размер элемента в раскладке не положителен
+    public static <A> List<A> mapped(Path path, ElementLayout<A> layout) throws IOException {
+        final int elementSize = elementSize(layout);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(STORE_HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException("Truncated header: " + path);
+            }
+            header.flip();
+            if (header.getInt() != STORE_MAGIC)
+                throw new IOException("Not a CustomArrayList file: " + path);
+            int version = header.getInt();
+            if (version != STORE_VERSION)
+                throw new IOException("Unsupported version " + version + ": " + path);
+            int storedElementSize = header.getInt();
+            if (storedElementSize <= 0)
+                throw new IOException("Invalid element size " + storedElementSize + ": " + path);
+            if (storedElementSize != elementSize)
+                throw new IOException("Element size " + storedElementSize + " does not match layout size "
+                        + elementSize + ": " + path);
+            header.getInt();
+            long count = header.getLong();
+            if (count < 0 || count > GrowthPolicy.SOFT_MAX_ARRAY_LENGTH
+                    || STORE_HEADER_BYTES + count * elementSize > channel.size())
+                throw new IOException("Invalid size: " + count);
+
+            int perRegion = Math.max(1, MAPPED_REGION_BYTES / elementSize);
+            MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((count + perRegion - 1) / perRegion)];
+            for (int r = 0; r < regions.length; r++) {
+                long first = (long) r * perRegion;
+                long n = Math.min(perRegion, count - first);
+                regions[r] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        STORE_HEADER_BYTES + first * elementSize, n * elementSize);
+            }
+            return new MappedList<>(regions, perRegion, (int) count, layout);
+        }
+    }
+
+    //Список только для чтения поверх отображённого в память файла. Элемент декодируется
+    //раскладкой при каждом обращении к нему
+    private static final class MappedList<A> extends AbstractList<A> implements RandomAccess {
+        private final MappedByteBuffer[] regions;
+        private final int perRegion;
+        private final int size;
+        private final ElementLayout<A> layout;
+        private final int elementSize;
+
+        MappedList(MappedByteBuffer[] regions, int perRegion, int size, ElementLayout<A> layout) {
+            this.regions = regions;
+            this.perRegion = perRegion;
+            this.size = size;
+            this.layout = layout;
+            this.elementSize = layout.byteSize();
+        }
+
+        public A get(int index) {
+            Objects.checkIndex(index, size);
+            return layout.read(regions[index / perRegion], (index % perRegion) * elementSize);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
     //Записывает экземпляр ArrayList в поток
     //Параметры:
     //с - поток
@@ -614,8 +1191,13 @@ public class CustomArrayList<A> extends AbstractList<A>
 
         s.defaultReadObject();
         s.readInt();
-        if (size > 0) {
-            SharedSecrets.getJavaObjectInputStreamAccess().checkArray(s, Object[].class, size);
+        growthPolicy = GrowthPolicy.DEFAULT;
+        parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        batchRemoveHashThreshold = DEFAULT_BATCH_REMOVE_HASH_THRESHOLD;
+        spliteratorGrain = 1;
+        if (size > GrowthPolicy.SOFT_MAX_ARRAY_LENGTH) {
+            throw new java.io.InvalidObjectException("Invalid size: " + size);
+        } else if (size > 0) {
             Object[] elements = new Object[size];
 
             for (int i = 0; i < size; i++) {
@@ -766,12 +1348,32 @@ public class CustomArrayList<A> extends AbstractList<A>
     //Возвращает подсписок (часть списка) в диапазоне между  fromIndex включительно и toIndex, невключая
     //Если fromIndex и toIndex равны, возвращаемый список пуст
     public List<A> subList(int fromIndex, int toIndex) {
-        //subListRangeCheck(fromIndex, toIndex, size);
+        subListRangeCheck(fromIndex, toIndex, size);
         return new SubList<>(this, fromIndex, toIndex);
     }
 
+    //Проверка границ подсписка
+    //Может генерировать IndexOutOfBoundsException, если границы выходят за пределы списка, и
+    //IllegalArgumentException, если fromIndex больше toIndex
+    static void subListRangeCheck(int fromIndex, int toIndex, int size) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        if (toIndex > size)
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("fromIndex(" + fromIndex +
+                    ") > toIndex(" + toIndex + ")");
+    }
+
     //Реализация внутренного метода по работе с частью списка, наследование от абстрактного класса AbstractList,
     //имплементация интерфейса RandomAccess
+    //Подсписок всегда привязан напрямую к корневому списку root: смещение offset отсчитывается от начала root,
+    //поэтому чтение и запись в подсписке любой вложенности - это одно обращение к root.elementData,
+    //а проверка на изменение списка сравнивает только с root.modCount.
+    //Ссылка на parent нужна только при структурном изменении (добавлении или удалении) через подсписок:
+    //updateSizeAndModCount проходит по цепочке родителей и обновляет их размер и modCount, так что
+    //такое изменение стоит O(глубины вложенности), как и в java.util.ArrayList. Пакетного обновления
+    //размеров нет: родители должны оставаться пригодными к использованию после изменения через вложенный подсписок
     private static class SubList<A> extends AbstractList<A> implements RandomAccess {
         private final CustomArrayList<A> root;
         private final CustomArrayList.SubList<A> parent;
@@ -800,9 +1402,7 @@ public class CustomArrayList<A> extends AbstractList<A>
         public A set(int index, A element) {
             Objects.checkIndex(index, size);
             checkForComodification();
-            A oldValue = root.elementData(offset + index);
-            root.elementData[offset + index] = element;
-            return oldValue;
+            return root.set(offset + index, element);
         }
 
         //Геттер
@@ -861,9 +1461,30 @@ public class CustomArrayList<A> extends AbstractList<A>
 ////////////////////////////////////////////////////////
         //Метод перемещения диапазона
         public void replaceAll(UnaryOperator<A> operator) {
+            checkForComodification();
             root.replaceAllRange(operator, offset, offset + size);
         }
 
+        //Сортирует подсписок прямо в массиве корневого списка
+        public void sort(Comparator<? super A> c) {
+            checkForComodification();
+            root.sortRange(c, offset, offset + size);
+            updateSizeAndModCount(0);
+        }
+
+        //Проход по подсписку прямо по массиву корневого списка
+        public void forEach(Consumer<? super A> action) {
+            Objects.requireNonNull(action);
+            checkForComodification();
+            final int expectedModCount = root.modCount;
+            final Object[] es = root.elementData;
+            final int end = offset + size;
+            for (int i = offset; root.modCount == expectedModCount && i < end; i++)
+                action.accept(elementAt(es, i));
+            if (root.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
         //Удаление всех элементов коллекции
         public boolean removeAll(Collection<?> c) {
             return batchRemove(c, false);
@@ -1067,11 +1688,12 @@ public class CustomArrayList<A> extends AbstractList<A>
             };
         }
 
-        //
-        /*public List<A> subList(int fromIndex, int toIndex) {
+        //Вложенный подсписок привязывается к тому же корневому списку со смещением от его начала,
+        //а не оборачивает этот подсписок
+        public List<A> subList(int fromIndex, int toIndex) {
             subListRangeCheck(fromIndex, toIndex, size);
-            return new CustomArrayList<>(this, fromIndex, toIndex);
-        }*/
+            return new CustomArrayList.SubList<>(this, fromIndex, toIndex);
+        }
 
         private void rangeCheckForAdd(int index) {
             if (index < 0 || index > this.size)
@@ -1087,6 +1709,7 @@ public class CustomArrayList<A> extends AbstractList<A>
                 throw new ConcurrentModificationException();
         }
 
+        //Обновляет размер и modCount этого подсписка и всех его родителей после структурного изменения
         private void updateSizeAndModCount(int sizeChange) {
             CustomArrayList.SubList<A> slist = this;
             do {
@@ -1109,16 +1732,16 @@ public class CustomArrayList<A> extends AbstractList<A>
                 private int getFence() { // initialize fence to size on first use
                     int hi; // (a specialized variant appears in method forEach)
                     if ((hi = fence) < 0) {
-                        expectedModCount = modCount;
+                        expectedModCount = root.modCount;
                         hi = fence = offset + size;
                     }
                     return hi;
                 }
 
-                public CustomArrayList<A>.ArrayListSpliterator trySplit() {
+                public Spliterator<A> trySplit() {
                     int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
                     // ArrayListSpliterator can be used here as the source is already bound
-                    return (lo >= mid) ? null : // divide range in half unless too small
+                    return (mid - lo < root.spliteratorGrain) ? null : // divide range in half unless too small
                             root.new ArrayListSpliterator(lo, index = mid, expectedModCount);
                 }
 
@@ -1143,7 +1766,7 @@ public class CustomArrayList<A> extends AbstractList<A>
                     Object[] a;
                     if ((a = lst.elementData) != null) {
                         if ((hi = fence) < 0) {
-                            mc = modCount;
+                            mc = root.modCount;
                             hi = offset + size;
                         }
                         else
@@ -1165,7 +1788,8 @@ public class CustomArrayList<A> extends AbstractList<A>
                 }
 
                 public int characteristics() {
-                    return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+                    return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                            | root.spliteratorCharacteristics;
                 }
             };
         }
@@ -1219,7 +1843,7 @@ public class CustomArrayList<A> extends AbstractList<A>
 
         public CustomArrayList.ArrayListSpliterator trySplit() {
             int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
-            return (lo >= mid) ? null : // разделение диапазона, если он большой
+            return (mid - lo < spliteratorGrain) ? null : // разделение диапазона, если обе части не меньше spliteratorGrain
                     new CustomArrayList.ArrayListSpliterator(lo, index = mid, expectedModCount);
         }
 
@@ -1267,7 +1891,7 @@ public class CustomArrayList<A> extends AbstractList<A>
         }
 
         public int characteristics() {
-            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | spliteratorCharacteristics;
         }
     }
 
@@ -1318,10 +1942,13 @@ public class CustomArrayList<A> extends AbstractList<A>
     }
 
 
-    private void replaceAllRange(UnaryOperator<A> operator, int i, int end) {
+    void replaceAllRange(UnaryOperator<A> operator, int i, int end) {
         Objects.requireNonNull(operator);
         final int expectedModCount = modCount;
         final Object[] es = elementData;
+        if (positionIndex != null)
+            invalidatePositionIndex();
+        invalidateCachedHash();
         for (; modCount == expectedModCount && i < end; i++)
             es[i] = operator.apply(elementAt(es, i));
         if (modCount != expectedModCount)
@@ -1329,11 +1956,319 @@ public class CustomArrayList<A> extends AbstractList<A>
     }
 
     //Метода сортировки списка
+    //Если размер списка не меньше parallelThreshold, список сортируется параллельной сортировкой слиянием
     public void sort(Comparator<? super A> c) {
+        sortElements(c, 0, size);
+    }
+
+    //Через этот метод сортируют подсписки. Подкласс может запретить сортировку подсписков,
+    //переопределив его; сам список сортируется через sortElements и от этого не зависит
+    void sortRange(Comparator<? super A> c, int from, int end) {
+        sortElements(c, from, end);
+    }
+
+    //Сортирует элементы от индекса from включительно до end не включая. Метод final, чтобы
+    //подкласс не мог перехватить сортировку, на которую опираются sort и внутренние операции
+    final void sortElements(Comparator<? super A> c, int from, int end) {
         final int expectedModCount = modCount;
-        Arrays.sort((A[]) elementData, 0, size, c);
+        final int n = end - from;
+        if (n >= parallelThreshold && n > MIN_SORT_GRAIN) {
+            Comparator<? super A> cmp = (c != null) ? c : (Comparator<? super A>) Comparator.naturalOrder();
+            int grain = Math.max(MIN_SORT_GRAIN, n / (ForkJoinPool.getCommonPoolParallelism() << 2));
+            new ParallelMergeSort<>((A[]) elementData, new Object[n], from, from, end, cmp, grain).invoke();
+        } else {
+            Arrays.sort((A[]) elementData, from, end, c);
+        }
         if (modCount != expectedModCount)
             throw new ConcurrentModificationException();
         modCount++;
     }
+
+    //Сортирует список по целочисленному ключу, который извлекается из каждого элемента ровно один раз.
+    //Ключ и исходный индекс упаковываются в одно число long, поэтому сортируется массив примитивов
+    //без вызова компаратора на каждое сравнение. Сортировка устойчивая: элементы с равными ключами
+    //сохраняют свой порядок
+    //Может генерировать NullPointerException в случае, если keyExtractor имеет значение null
+    public void sortByIntKey(ToIntFunction<? super A> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        final Object[] es = elementData;
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = ((long) keyExtractor.applyAsInt(elementAt(es, i)) << 32) | i;
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        if (size >= parallelThreshold)
+            Arrays.parallelSort(keys);
+        else
+            Arrays.sort(keys);
+        final Object[] sorted = new Object[size];
+        for (int i = 0; i < size; i++)
+            sorted[i] = es[(int) keys[i]];
+        System.arraycopy(sorted, 0, es, 0, size);
+        modCount++;
+    }
+
+    //Параллельные версии массовых операций. Если размер списка меньше parallelThreshold, они просто
+    //вызывают обычные методы. Иначе список делится на участки, кратные 64 элементам, и участки
+    //обрабатываются в общем пуле ForkJoinPool. Переданные функции вызываются из разных потоков одновременно
+    //и в произвольном порядке, поэтому они должны быть потокобезопасными и не должны изменять список
+
+    //Проверяет, стоит ли обрабатывать список из n элементов параллельно
+    private boolean isParallel(int n) {
+        return n >= parallelThreshold && n > MIN_PARALLEL_CHUNK;
+    }
+
+    //Размер участка для параллельной обработки n элементов. Кратен 64, чтобы участки
+    //не делили между собой слова битовой карты в parallelRemoveIf
+    private static int parallelChunk(int n) {
+        int chunk = Math.max(MIN_PARALLEL_CHUNK, n / (ForkJoinPool.getCommonPoolParallelism() << 2));
+        return (chunk + 63) & ~63;
+    }
+
+    //Вызывает body для каждого номера участка от 0 до chunks не включая в общем пуле ForkJoinPool
+    private static void invokeChunks(int chunks, IntConsumer body) {
+        new ChunkTask(0, chunks, body).invoke();
+    }
+
+    //Параллельный проход по всем элементам списка
+    public void parallelForEach(Consumer<? super A> action) {
+        Objects.requireNonNull(action);
+        final int n = size;
+        if (!isParallel(n)) {
+            forEach(action);
+            return;
+        }
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int chunk = parallelChunk(n);
+        invokeChunks((n + chunk - 1) / chunk, k -> {
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi; i++)
+                action.accept(elementAt(es, i));
+        });
+        checkForComodification(expectedModCount);
+    }
+
+    //Параллельная замена каждого элемента результатом функции
+    public void parallelReplaceAll(UnaryOperator<A> operator) {
+        Objects.requireNonNull(operator);
+        final int n = size;
+        if (!isParallel(n)) {
+            replaceAll(operator);
+            return;
+        }
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int chunk = parallelChunk(n);
+        if (positionIndex != null)
+            invalidatePositionIndex();
+        invalidateCachedHash();
+        invokeChunks((n + chunk - 1) / chunk, k -> {
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi; i++)
+                es[i] = operator.apply(elementAt(es, i));
+        });
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    //Параллельное удаление элементов, удовлетворяющих условию.
+    //Каждый участок отмечает удаляемые элементы в своих словах общей битовой карты deathRow,
+    //после чего оставшиеся элементы сдвигаются к началу списка за один проход
+    public boolean parallelRemoveIf(Predicate<? super A> filter) {
+        Objects.requireNonNull(filter);
+        final int n = size;
+        if (!isParallel(n))
+            return removeIf(filter);
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int chunk = parallelChunk(n);
+        final long[] deathRow = nBits(n);
+        invokeChunks((n + chunk - 1) / chunk, k -> {
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi; i++)
+                if (filter.test(elementAt(es, i)))
+                    setBit(deathRow, i);
+        });
+        checkForComodification(expectedModCount);
+        int removed = 0;
+        for (long word : deathRow)
+            removed += Long.bitCount(word);
+        if (removed == 0)
+            return false;
+        modCount++;
+        int w = 0;
+        for (int i = 0; i < n; i++)
+            if (isClear(deathRow, i))
+                es[w++] = es[i];
+        shiftTailOverGap(es, w, n);
+        return true;
+    }
+
+    //Параллельный поиск индекса первого вхождения элемента. Участки, лежащие правее уже найденного
+    //вхождения, не просматриваются. Если включён индекс позиций, поиск идёт по нему
+    public int parallelIndexOf(Object o) {
+        final int n = size;
+        if (!isParallel(n) || positionIndex != null)
+            return indexOf(o);
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int chunk = parallelChunk(n);
+        final AtomicInteger found = new AtomicInteger(n);
+        invokeChunks((n + chunk - 1) / chunk, k -> {
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi && i < found.get(); i++) {
+                if (Objects.equals(o, es[i])) {
+                    found.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        });
+        checkForComodification(expectedModCount);
+        int i = found.get();
+        return (i < n) ? i : -1;
+    }
+
+    //Параллельное вычисление хэш-кода. Каждый участок считает свою часть многочлена с нуля,
+    //а части объединяются по правилу h = h * 31^(длина участка) + часть участка
+    public int parallelHashCode() {
+        final int n = size;
+        final int expectedModCount = modCount;
+        if (!isParallel(n) || (hashCacheEnabled && cachedHashModCount == expectedModCount))
+            return hashCode();
+        final Object[] es = elementData;
+        final int chunk = parallelChunk(n);
+        final int chunks = (n + chunk - 1) / chunk;
+        final int[] partial = new int[chunks];
+        invokeChunks(chunks, k -> {
+            int hashCode = 0;
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi; i++) {
+                Object e = es[i];
+                hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
+            }
+            partial[k] = hashCode;
+        });
+        checkForComodification(expectedModCount);
+        final int chunkPower = pow31(chunk);
+        int hash = 1;
+        for (int k = 0; k < chunks - 1; k++)
+            hash = hash * chunkPower + partial[k];
+        hash = hash * pow31(n - (chunks - 1) * chunk) + partial[chunks - 1];
+        if (hashCacheEnabled) {
+            cachedHash = hash;
+            cachedHashModCount = expectedModCount;
+        }
+        return hash;
+    }
+
+    //Параллельное сравнение с другим списком. Параллельно сравниваются только два CustomArrayList
+    //одинакового размера, в остальных случаях вызывается обычный equals
+    public boolean parallelEquals(Object o) {
+        if (o == this)
+            return true;
+        final int n = size;
+        if (!isParallel(n) || o == null || o.getClass() != CustomArrayList.class)
+            return equals(o);
+        final CustomArrayList<?> other = (CustomArrayList<?>) o;
+        if (other.size != n)
+            return false;
+        final int expectedModCount = modCount;
+        final int otherModCount = other.modCount;
+        final Object[] es = elementData;
+        final Object[] otherEs = other.elementData;
+        if (n > otherEs.length)
+            throw new ConcurrentModificationException();
+        final int chunk = parallelChunk(n);
+        final AtomicBoolean differs = new AtomicBoolean();
+        invokeChunks((n + chunk - 1) / chunk, k -> {
+            for (int i = k * chunk, hi = Math.min(n, i + chunk); i < hi && !differs.get(); i++) {
+                if (!Objects.equals(es[i], otherEs[i])) {
+                    differs.set(true);
+                    return;
+                }
+            }
+        });
+        other.checkForComodification(otherModCount);
+        checkForComodification(expectedModCount);
+        return !differs.get();
+    }
+
+    //Задача ForkJoinPool, которая делит диапазон номеров участков пополам, пока не останется один участок
+    private static final class ChunkTask extends RecursiveAction {
+        @java.io.Serial
+        private static final long serialVersionUID = -6170538214968370581L;
+
+        private final int from, to;
+        private final IntConsumer body;
+
+        ChunkTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
+    }
+
+    //Параллельная сортировка слиянием. Участки не больше grain сортируются Arrays.sort,
+    //затем соседние участки сливаются. tmp - вспомогательный массив размером с сортируемый диапазон,
+    //элемент a[i] соответствует tmp[i - base]
+    private static final class ParallelMergeSort<A> extends RecursiveAction {
+        @java.io.Serial
+        private static final long serialVersionUID = 3519270648801576342L;
+
+        private final A[] a;
+        private final Object[] tmp;
+        private final int base;
+        private final int lo, hi;
+        private final Comparator<? super A> c;
+        private final int grain;
+
+        ParallelMergeSort(A[] a, Object[] tmp, int base, int lo, int hi, Comparator<? super A> c, int grain) {
+            this.a = a;
+            this.tmp = tmp;
+            this.base = base;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                Arrays.sort(a, lo, hi, c);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParallelMergeSort<>(a, tmp, base, lo, mid, c, grain),
+                    new ParallelMergeSort<>(a, tmp, base, mid, hi, c, grain));
+            if (c.compare(a[mid - 1], a[mid]) > 0)
+                merge(mid);
+        }
+
+        //Сливает отсортированные участки [lo, mid) и [mid, hi). Левый участок копируется в tmp,
+        //при равенстве берётся элемент слева, поэтому слияние устойчивое
+        private void merge(int mid) {
+            System.arraycopy(a, lo, tmp, lo - base, mid - lo);
+            int i = lo, j = mid, k = lo;
+            while (i < mid && j < hi) {
+                A left = (A) tmp[i - base];
+                if (c.compare(left, a[j]) <= 0) {
+                    a[k++] = left;
+                    i++;
+                } else {
+                    a[k++] = a[j++];
+                }
+            }
+            if (i < mid)
+                System.arraycopy(tmp, i - base, a, k, mid - i);
+        }
+    }
 }
@@ -0,0 +1,338 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+//Сегментированный список с индексами типа long.
+//Элементы хранятся в сегментах фиксированного размера (SEGMENT_SIZE), а сегменты - в массиве-каталоге.
+//При росте выделяется только новый сегмент, а копируется лишь каталог ссылок на сегменты, поэтому
+//пиковый расход памяти не удваивается, как при CustomArrayList.grow, и размер списка не ограничен
+//максимальной длиной одного массива.
+//Методы с индексами long повторяют API CustomArrayList (add, get, set, remove, indexOf, ensureCapacity,
+//trimToSize). Методы интерфейса List с индексами int работают, пока размер не превышает Integer.MAX_VALUE;
+//size() у большего списка возвращает Integer.MAX_VALUE, а точный размер даёт longSize()
+public class CustomBigList<A> extends AbstractList<A> implements RandomAccess {
+
+    //Размер сегмента - 2^SEGMENT_SHIFT элементов
+    private static final int SEGMENT_SHIFT = 14;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    //Пустой каталог сегментов
+    private static final Object[][] EMPTY_SEGMENTS = {};
+
+    //Каталог сегментов. Все сегменты, кроме, возможно, лишних в конце, заполнены до SEGMENT_SIZE
+    private Object[][] segments = EMPTY_SEGMENTS;
+
+    //Количество выделенных сегментов
+    private int segmentCount;
+
+    //Размер списка
+    private long size;
+
+    //Создает пустой список
+    public CustomBigList() {
+    }
+
+    //Создает пустой список, заранее выделив место под указанное количество элементов
+    //Генерит исключение IllegalArgumentException, если указанная начальная емкость отрицательна
+    public CustomBigList(long initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    initialCapacity);
+        }
+        ensureCapacity(initialCapacity);
+    }
+
+    //Номер сегмента элемента с указанным индексом
+    private static int segment(long index) {
+        return (int) (index >>> SEGMENT_SHIFT);
+    }
+
+    //Смещение элемента с указанным индексом внутри сегмента
+    private static int offset(long index) {
+        return (int) index & SEGMENT_MASK;
+    }
+
+    //Возвращает элемент с указанным индексом без проверки границ
+    private A elementData(long index) {
+        return (A) segments[segment(index)][offset(index)];
+    }
+
+    //Ёмкость списка в элементах
+    public long capacity() {
+        return (long) segmentCount << SEGMENT_SHIFT;
+    }
+
+    //При необходимости выделяет сегменты, чтобы гарантировать минимальную емкость.
+    //Уже существующие элементы при этом не копируются
+    public void ensureCapacity(long minCapacity) {
+        if (minCapacity <= capacity())
+            return;
+        long needed = (minCapacity + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        if (needed > GrowthPolicy.SOFT_MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("Required capacity " + minCapacity + " is too large");
+        }
+        modCount++;
+        if (needed > segments.length) {
+            int newLength = GrowthPolicy.DEFAULT.newCapacity(segments.length, (int) needed);
+            segments = Arrays.copyOf(segments, newLength);
+        }
+        while (segmentCount < needed)
+            segments[segmentCount++] = new Object[SEGMENT_SIZE];
+    }
+
+    //Освобождает пустые сегменты в конце списка и сокращает каталог сегментов
+    public void trimToSize() {
+        modCount++;
+        int used = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        for (int i = used; i < segmentCount; i++)
+            segments[i] = null;
+        segmentCount = used;
+        if (used < segments.length)
+            segments = (used == 0) ? EMPTY_SEGMENTS : Arrays.copyOf(segments, used);
+    }
+
+    //Точный размер списка
+    public long longSize() {
+        return size;
+    }
+
+    //Размер списка; для списков больше Integer.MAX_VALUE элементов возвращает Integer.MAX_VALUE
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    //Метод определения, является ли список пустым
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    public A get(long index) {
+        Objects.checkIndex(index, size);
+        return elementData(index);
+    }
+
+    @Override
+    public A get(int index) {
+        return get((long) index);
+    }
+
+    //Заменяет элемент списка с заданным индексом указанным элементом
+    public A set(long index, A element) {
+        Objects.checkIndex(index, size);
+        Object[] segment = segments[segment(index)];
+        A oldValue = (A) segment[offset(index)];
+        segment[offset(index)] = element;
+        return oldValue;
+    }
+
+    @Override
+    public A set(int index, A element) {
+        return set((long) index, element);
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(A e) {
+        modCount++;
+        long s = size;
+        if (s == capacity())
+            ensureCapacity(s + 1);
+        segments[segment(s)][offset(s)] = e;
+        size = s + 1;
+        return true;
+    }
+
+    //Вставляет указанный элемент в указанную позицию, сдвигая последующие элементы вправо.
+    //Сдвиг идёт посегментно, новый общий массив не выделяется
+    public void add(long index, A element) {
+        rangeCheckForAdd(index);
+        modCount++;
+        long s = size;
+        if (s == capacity())
+            ensureCapacity(s + 1);
+        shift(index, index + 1, s - index);
+        segments[segment(index)][offset(index)] = element;
+        size = s + 1;
+    }
+
+    @Override
+    public void add(int index, A element) {
+        add((long) index, element);
+    }
+
+    //Удаляет элемент в указанной позиции, сдвигая последующие элементы влево
+    public A remove(long index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+        A oldValue = elementData(index);
+        long newSize = size - 1;
+        shift(index + 1, index, newSize - index);
+        segments[segment(newSize)][offset(newSize)] = null;
+        size = newSize;
+        return oldValue;
+    }
+
+    @Override
+    public A remove(int index) {
+        return remove((long) index);
+    }
+
+    //Копирует length элементов с позиции from на позицию to с учётом перекрытия диапазонов
+    private void shift(long from, long to, long length) {
+        if (length <= 0)
+            return;
+        if (to < from) {
+            long done = 0;
+            while (done < length) {
+                long src = from + done, dst = to + done;
+                int n = (int) Math.min(length - done,
+                        Math.min(SEGMENT_SIZE - offset(src), SEGMENT_SIZE - offset(dst)));
+                System.arraycopy(segments[segment(src)], offset(src),
+                        segments[segment(dst)], offset(dst), n);
+                done += n;
+            }
+        } else {
+            long remaining = length;
+            while (remaining > 0) {
+                long srcEnd = from + remaining, dstEnd = to + remaining;
+                int n = (int) Math.min(remaining,
+                        Math.min(offset(srcEnd - 1) + 1, offset(dstEnd - 1) + 1));
+                System.arraycopy(segments[segment(srcEnd - 1)], offset(srcEnd - n),
+                        segments[segment(dstEnd - 1)], offset(dstEnd - n), n);
+                remaining -= n;
+            }
+        }
+    }
+
+    //Удаляет все элементы из списка. Сегменты остаются выделенными
+    @Override
+    public void clear() {
+        modCount++;
+        int used = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        for (int i = 0; i < used; i++)
+            Arrays.fill(segments[i], null);
+        size = 0;
+    }
+
+    //Удаляет из списка элементы в диапазоне от fromIndex включительно до toIndex не включая
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        removeRange((long) fromIndex, toIndex);
+    }
+
+    //Удаляет из списка элементы в диапазоне от fromIndex включительно до toIndex не включая
+    public void removeRange(long fromIndex, long toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        modCount++;
+        shift(toIndex, fromIndex, size - toIndex);
+        long newSize = size - (toIndex - fromIndex);
+        for (long i = newSize; i < size; i++)
+            segments[segment(i)][offset(i)] = null;
+        size = newSize;
+    }
+
+    //Возвращает индекс первого вхождения указанного элемента в списке или -1
+    public long longIndexOf(Object o) {
+        for (int seg = 0; (long) seg << SEGMENT_SHIFT < size; seg++) {
+            Object[] es = segments[seg];
+            long base = (long) seg << SEGMENT_SHIFT;
+            int end = (int) Math.min(SEGMENT_SIZE, size - base);
+            for (int i = 0; i < end; i++) {
+                if (Objects.equals(o, es[i]))
+                    return base + i;
+            }
+        }
+        return -1;
+    }
+
+    //Возвращает индекс последнего вхождения указанного элемента в списке или -1
+    public long longLastIndexOf(Object o) {
+        for (long i = size - 1; i >= 0; i--) {
+            if (Objects.equals(o, elementData(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long i = longIndexOf(o);
+        return (i <= Integer.MAX_VALUE) ? (int) i : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        long i = longLastIndexOf(o);
+        return (i <= Integer.MAX_VALUE) ? (int) i : -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return longIndexOf(o) >= 0;
+    }
+
+    //Проход по всем элементам посегментно
+    @Override
+    public void forEach(Consumer<? super A> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (long i = 0; i < size && modCount == expectedModCount; i++)
+            action.accept(elementData(i));
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    //Итератор, который работает и для списков больше Integer.MAX_VALUE элементов
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            long cursor;
+            long lastRet = -1;
+            int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            public A next() {
+                checkForComodification();
+                long i = cursor;
+                if (i >= size)
+                    throw new NoSuchElementException();
+                cursor = i + 1;
+                return elementData(lastRet = i);
+            }
+
+            public void remove() {
+                if (lastRet < 0)
+                    throw new IllegalStateException();
+                checkForComodification();
+                CustomBigList.this.remove(lastRet);
+                cursor = lastRet;
+                lastRet = -1;
+                expectedModCount = modCount;
+            }
+
+            final void checkForComodification() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+            }
+        };
+    }
+
+    //Версия метода rangeCheck, используемая методом add
+    private void rangeCheckForAdd(long index) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(long index) {
+        return "Index: "+index+", Size: "+size;
+    }
+}
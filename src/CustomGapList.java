@@ -0,0 +1,244 @@
+import java.util.*;
+
+//Список на основе буфера с разрывом (gap buffer).
+//Свободная ёмкость хранится не в конце массива, как у CustomArrayList, а в виде «разрыва» в той позиции,
+//где последний раз менялся список. Вставка и удаление рядом с этой позицией сдвигают только элементы между
+//старой и новой позицией разрыва, поэтому серия правок возле одного курсора стоит O(расстояния), а не O(size).
+//Добавление в конец держит разрыв в конце и работает так же, как в CustomArrayList.
+//Доступ по индексу остаётся O(1): индексы до разрыва совпадают с позицией в массиве, после разрыва
+//сдвинуты на его длину
+public class CustomGapList<A> extends AbstractList<A> implements RandomAccess {
+
+    //Ёмкость списка по умолчанию
+    private static final int DEFAULT_CAPACITY = 10;
+
+    //Буфер с элементами и разрывом
+    private Object[] elementData;
+
+    //Начало разрыва (включительно) и конец разрыва (не включая)
+    private int gapStart;
+    private int gapEnd;
+
+    //Первый конструктор. Создает пустой список с указанной начальной емкостью
+    //Генерит исключение IllegalArgumentException, если указанная начальная емкость отрицательна
+    public CustomGapList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    initialCapacity);
+        }
+        elementData = new Object[initialCapacity];
+        gapEnd = initialCapacity;
+    }
+
+    //Второй конструктор. Создает пустой список с начальной емкостью, по умолчанию равной десяти
+    public CustomGapList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    //Третий конструктор. Создает список, содержащий элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public CustomGapList(Collection<? extends A> c) {
+        this(0);
+        addAll(c);
+    }
+
+    //Длина разрыва
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    //Позиция в массиве для элемента с указанным индексом
+    private int physical(int index) {
+        return (index < gapStart) ? index : index + gapLength();
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return elementData.length - gapLength();
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    @Override
+    public A get(int index) {
+        Objects.checkIndex(index, size());
+        return (A) elementData[physical(index)];
+    }
+
+    //Заменяет элемент списка с заданным индексом указанным элементом
+    @Override
+    public A set(int index, A element) {
+        Objects.checkIndex(index, size());
+        int p = physical(index);
+        A oldValue = (A) elementData[p];
+        elementData[p] = element;
+        return oldValue;
+    }
+
+    //Переносит разрыв так, чтобы он начинался с указанного индекса.
+    //Сдвигаются только элементы между старым и новым положением разрыва
+    private void moveGap(int index) {
+        final Object[] es = elementData;
+        final int start = gapStart, end = gapEnd;
+        if (index < start) {
+            int moved = start - index;
+            int newEnd = end - moved;
+            System.arraycopy(es, index, es, newEnd, moved);
+            Arrays.fill(es, index, Math.min(start, newEnd), null);
+            gapStart = index;
+            gapEnd = newEnd;
+        } else if (index > start) {
+            int moved = index - start;
+            int newEnd = end + moved;
+            System.arraycopy(es, end, es, start, moved);
+            Arrays.fill(es, Math.max(end, index), newEnd, null);
+            gapStart = index;
+            gapEnd = newEnd;
+        }
+    }
+
+    //Гарантирует, что длина разрыва не меньше needed, расширяя буфер при необходимости.
+    //При расширении разрыв остаётся на том же месте
+    private void ensureGap(int needed) {
+        if (gapLength() >= needed)
+            return;
+        final Object[] es = elementData;
+        int size = size();
+        int newCapacity = GrowthPolicy.DEFAULT.newCapacity(es.length,
+                Math.max(DEFAULT_CAPACITY, size + needed));
+        Object[] grown = new Object[newCapacity];
+        int tail = es.length - gapEnd;
+        System.arraycopy(es, 0, grown, 0, gapStart);
+        System.arraycopy(es, gapEnd, grown, newCapacity - tail, tail);
+        elementData = grown;
+        gapEnd = newCapacity - tail;
+    }
+
+    //При необходимости увеличивает емкость списка, чтобы гарантировать минимальную емкость
+    public void ensureCapacity(int minCapacity) {
+        int size = size();
+        if (minCapacity > size)
+            ensureGap(minCapacity - size);
+    }
+
+    //Сокращает ёмкость списка до текущего размера
+    public void trimToSize() {
+        modCount++;
+        if (gapLength() > 0) {
+            moveGap(size());
+            elementData = Arrays.copyOf(elementData, gapStart);
+            gapEnd = gapStart;
+        }
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(A e) {
+        add(size(), e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в указанную позицию. Разрыв переносится в эту позицию
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public void add(int index, A element) {
+        rangeCheckForAdd(index);
+        modCount++;
+        ensureGap(1);
+        moveGap(index);
+        elementData[gapStart++] = element;
+    }
+
+    //Вставляет все элементы коллекции начиная с указанной позиции
+    @Override
+    public boolean addAll(int index, Collection<? extends A> c) {
+        rangeCheckForAdd(index);
+        Object[] a = c.toArray();
+        modCount++;
+        int numNew = a.length;
+        if (numNew == 0)
+            return false;
+        ensureGap(numNew);
+        moveGap(index);
+        System.arraycopy(a, 0, elementData, gapStart, numNew);
+        gapStart += numNew;
+        return true;
+    }
+
+    //Добавляет все элементы коллекции в конец списка
+    @Override
+    public boolean addAll(Collection<? extends A> c) {
+        return addAll(size(), c);
+    }
+
+    //Удаляет элемент в указанной позиции. Разрыв переносится в эту позицию и поглощает элемент
+    @Override
+    public A remove(int index) {
+        Objects.checkIndex(index, size());
+        modCount++;
+        moveGap(index);
+        A oldValue = (A) elementData[gapEnd];
+        elementData[gapEnd++] = null;
+        return oldValue;
+    }
+
+    //Удаляет из списка элементы в диапазоне от fromIndex включительно до toIndex не включая
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    "From Index: " + fromIndex + " > To Index: " + toIndex);
+        }
+        modCount++;
+        moveGap(fromIndex);
+        int newEnd = gapEnd + (toIndex - fromIndex);
+        Arrays.fill(elementData, gapEnd, newEnd, null);
+        gapEnd = newEnd;
+    }
+
+    //Удаляет все элементы из списка
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(elementData, null);
+        gapStart = 0;
+        gapEnd = elementData.length;
+    }
+
+    //Возвращает индекс первого вхождения указанного элемента или -1, проходя по обеим частям буфера
+    @Override
+    public int indexOf(Object o) {
+        final Object[] es = elementData;
+        for (int i = 0; i < gapStart; i++) {
+            if (Objects.equals(o, es[i]))
+                return i;
+        }
+        for (int i = gapEnd; i < es.length; i++) {
+            if (Objects.equals(o, es[i]))
+                return i - gapLength();
+        }
+        return -1;
+    }
+
+    //Возвращает массив со всеми элементами списка
+    @Override
+    public Object[] toArray() {
+        final Object[] es = elementData;
+        Object[] result = new Object[size()];
+        System.arraycopy(es, 0, result, 0, gapStart);
+        System.arraycopy(es, gapEnd, result, gapStart, es.length - gapEnd);
+        return result;
+    }
+
+    //Версия метода rangeCheck, используемая методами add и addAll
+    private void rangeCheckForAdd(int index) {
+        if (index > size() || index < 0)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size();
+    }
+}
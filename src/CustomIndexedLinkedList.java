@@ -0,0 +1,655 @@
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+//Связный список с доступом по индексу за O(log n): индексируемый список с пропусками (skip list).
+//Нижний уровень - обычная двусвязная цепочка узлов, как в CustomLinkedList. Над ней часть узлов
+//имеет ссылки «через голову» на верхних уровнях; узел поднимается на каждый следующий уровень
+//с вероятностью 1/4. Каждая ссылка хранит span - сколько узлов нижнего уровня она перепрыгивает,
+//поэтому get, set, add(int, e) и remove(int) спускаются по уровням, отсчитывая индекс, а не идут
+//по цепочке до size/2 узлов.
+//Ссылки в null тоже имеют span - расстояние до позиции за последним элементом. Длины ссылок заглавного
+//узла хранятся со сдвигом headShift, а длины ссылок в null - со сдвигом tailShift: добавление или удаление
+//на конце сдвигает на единицу сразу все ссылки над узлом одним изменением сдвига, поэтому addFirst, addLast,
+//pollFirst и pollLast меняют только ссылки самого узла и стоят O(1) в среднем (у узла в среднем 4/3 уровня).
+//Обратные ссылки есть на всех уровнях узла, а head.prev[l] - последний узел уровня l.
+//Узлы не перемещаются, поэтому итератор после add и remove продолжает работу с того же узла.
+//Реализует одновременно List и Deque, как CustomLinkedList; элементы могут быть равны null
+public class CustomIndexedLinkedList<B> extends AbstractSequentialList<B>
+        implements List<B>, Deque<B> {
+
+    //Максимальное количество уровней; при вероятности подъёма 1/4 этого хватает на 4^16 элементов
+    private static final int MAX_LEVEL = 16;
+
+    //Заглавный узел без элемента, у которого есть ссылки на всех уровнях. Его обратные ссылки
+    //указывают на последние узлы уровней, а в пустом списке - на сам заглавный узел
+    private final Node<B> head = new Node<>(null, MAX_LEVEL);
+
+    //Количество используемых уровней
+    private int level = 1;
+
+    //Размер списка
+    private int size;
+
+    //Сдвиги хранимых длин ссылок: к длине ссылки заглавного узла прибавляется headShift,
+    //к длине ссылки в null - tailShift
+    private int headShift;
+    private int tailShift;
+
+    //Вспомогательные массивы для поиска места вставки и удаления: предшественник на каждом уровне
+    //и его номер (номер первого элемента - 1, заглавного узла - 0)
+    private final Node<B>[] update = newNodeArray(MAX_LEVEL);
+    private final int[] rank = new int[MAX_LEVEL];
+
+    //Создает пустой список: ссылки заглавного узла идут в null через весь (пустой) список
+    public CustomIndexedLinkedList() {
+        Arrays.fill(head.prev, head);
+        Arrays.fill(head.span, 1);
+    }
+
+    //Создает список, содержащий элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public CustomIndexedLinkedList(Collection<? extends B> c) {
+        this();
+        addAll(c);
+    }
+
+    //Узел списка: элемент, ссылки вперёд с длинами и ссылки назад на каждом уровне узла
+    private static final class Node<B> {
+        B item;
+        final Node<B>[] next;
+        final Node<B>[] prev;
+        final int[] span;
+
+        Node(B item, int level) {
+            this.item = item;
+            this.next = newNodeArray(level);
+            this.prev = newNodeArray(level);
+            this.span = new int[level];
+        }
+    }
+
+    //Единственное место, где создаётся массив узлов: массив параметризованного типа создать нельзя
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <B> Node<B>[] newNodeArray(int length) {
+        return (Node<B>[]) new Node[length];
+    }
+
+    //Случайный уровень нового узла: каждый следующий уровень с вероятностью 1/4
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int level = 1 + (Integer.numberOfTrailingZeros(bits) >> 1);
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    //Настоящая длина ссылки узла x на уровне l с учётом сдвигов
+    private int span(Node<B> x, int l) {
+        int span = x.span[l];
+        if (x == head)
+            span += headShift;
+        if (x.next[l] == null)
+            span += tailShift;
+        return span;
+    }
+
+    //Записывает длину ссылки узла x на уровне l. Вызывается после того, как x.next[l] уже установлена
+    private void setSpan(Node<B> x, int l, int span) {
+        if (x == head)
+            span -= headShift;
+        if (x.next[l] == null)
+            span -= tailShift;
+        x.span[l] = span;
+    }
+
+    //Спускается по уровням к предшественнику позиции index и заполняет update и rank
+    private void findPredecessors(int index) {
+        Node<B> x = head;
+        for (int l = level - 1; l >= 0; l--) {
+            int r = (l == level - 1) ? 0 : rank[l + 1];
+            int span;
+            while (x.next[l] != null && r + (span = span(x, l)) <= index) {
+                r += span;
+                x = x.next[l];
+            }
+            rank[l] = r;
+            update[l] = x;
+        }
+    }
+
+    //Возвращает узел с указанным индексом, спускаясь по уровням
+    private Node<B> node(int index) {
+        final int target = index + 1;
+        Node<B> x = head;
+        int traversed = 0;
+        for (int l = level - 1; l >= 0; l--) {
+            int span;
+            while (x.next[l] != null && traversed + (span = span(x, l)) <= target) {
+                traversed += span;
+                x = x.next[l];
+            }
+            if (traversed == target)
+                return x;
+        }
+        return x;
+    }
+
+    //Поднимает количество уровней до newLevel. Новые уровни пусты: ссылка заглавного узла
+    //идёт в null через весь список
+    private void raiseLevel(int newLevel) {
+        for (int l = level; l < newLevel; l++)
+            setSpan(head, l, size + 1);
+        level = newLevel;
+    }
+
+    //Убирает опустевшие верхние уровни
+    private void trimLevel() {
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+    }
+
+    //Вставляет новый узел с элементом e в позицию index и возвращает его
+    private Node<B> linkAt(int index, B e) {
+        if (index == size)
+            return linkLast(e);
+        if (index == 0)
+            return linkFirst(e);
+        findPredecessors(index);
+        final int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int l = level; l < newLevel; l++) {
+                rank[l] = 0;
+                update[l] = head;
+            }
+            raiseLevel(newLevel);
+        }
+        final Node<B> node = new Node<>(e, newLevel);
+        for (int l = 0; l < newLevel; l++) {
+            final Node<B> pred = update[l];
+            final int skipped = rank[0] - rank[l];
+            final int span = span(pred, l);
+            final Node<B> next = pred.next[l];
+            node.next[l] = next;
+            node.prev[l] = pred;
+            pred.next[l] = node;
+            if (next != null)
+                next.prev[l] = node;
+            else
+                head.prev[l] = node;
+            setSpan(node, l, span - skipped);
+            setSpan(pred, l, skipped + 1);
+        }
+        for (int l = newLevel; l < level; l++)
+            setSpan(update[l], l, span(update[l], l) + 1);
+        Arrays.fill(update, 0, level, null);
+        size++;
+        modCount++;
+        return node;
+    }
+
+    //Вставляет новый узел в начало списка. Ссылки заглавного узла над новым узлом удлиняются
+    //все сразу через headShift, поэтому меняются только ссылки на уровнях самого узла
+    private Node<B> linkFirst(B e) {
+        final int newLevel = randomLevel();
+        if (newLevel > level)
+            raiseLevel(newLevel);
+        final Node<B> node = new Node<>(e, newLevel);
+        for (int l = 0; l < newLevel; l++) {
+            final Node<B> next = head.next[l];
+            final int span = span(head, l);
+            node.next[l] = next;
+            node.prev[l] = head;
+            head.next[l] = node;
+            if (next != null)
+                next.prev[l] = node;
+            else
+                head.prev[l] = node;
+            setSpan(node, l, span);
+        }
+        headShift++;
+        for (int l = 0; l < newLevel; l++)
+            setSpan(head, l, 1);
+        size++;
+        modCount++;
+        return node;
+    }
+
+    //Вставляет новый узел в конец списка. Ссылки в null над новым узлом удлиняются
+    //все сразу через tailShift, поэтому меняются только ссылки на уровнях самого узла
+    private Node<B> linkLast(B e) {
+        final int newLevel = randomLevel();
+        if (newLevel > level)
+            raiseLevel(newLevel);
+        final Node<B> node = new Node<>(e, newLevel);
+        tailShift++;
+        for (int l = 0; l < newLevel; l++) {
+            final Node<B> pred = head.prev[l];
+            final int span = span(pred, l) - 1;
+            node.prev[l] = pred;
+            pred.next[l] = node;
+            head.prev[l] = node;
+            setSpan(pred, l, span);
+            setSpan(node, l, 1);
+        }
+        size++;
+        modCount++;
+        return node;
+    }
+
+    //Удаляет узел с указанным индексом и возвращает его элемент
+    private B unlinkAt(int index) {
+        if (index == 0)
+            return unlinkFirst();
+        if (index == size - 1)
+            return unlinkLast();
+        findPredecessors(index);
+        final Node<B> x = update[0].next[0];
+        for (int l = 0; l < level; l++) {
+            final Node<B> pred = update[l];
+            if (pred.next[l] == x) {
+                final int span = span(pred, l) + span(x, l) - 1;
+                final Node<B> next = x.next[l];
+                pred.next[l] = next;
+                if (next != null)
+                    next.prev[l] = pred;
+                else
+                    head.prev[l] = pred;
+                setSpan(pred, l, span);
+            } else {
+                setSpan(pred, l, span(pred, l) - 1);
+            }
+        }
+        trimLevel();
+        Arrays.fill(update, 0, MAX_LEVEL, null);
+        return release(x);
+    }
+
+    //Удаляет первый узел. Ссылки заглавного узла над ним укорачиваются все сразу через headShift
+    private B unlinkFirst() {
+        final Node<B> x = head.next[0];
+        headShift--;
+        for (int l = 0; l < x.next.length; l++) {
+            final int span = span(x, l);
+            final Node<B> next = x.next[l];
+            head.next[l] = next;
+            if (next != null)
+                next.prev[l] = head;
+            else
+                head.prev[l] = head;
+            setSpan(head, l, span);
+        }
+        trimLevel();
+        return release(x);
+    }
+
+    //Удаляет последний узел. Ссылки в null над ним укорачиваются все сразу через tailShift
+    private B unlinkLast() {
+        final Node<B> x = head.prev[0];
+        tailShift--;
+        for (int l = 0; l < x.next.length; l++) {
+            final Node<B> pred = x.prev[l];
+            final int span = span(pred, l);
+            pred.next[l] = null;
+            head.prev[l] = pred;
+            setSpan(pred, l, span);
+        }
+        trimLevel();
+        return release(x);
+    }
+
+    //Очищает ссылки удалённого узла и возвращает его элемент
+    private B release(Node<B> x) {
+        final B element = x.item;
+        x.item = null;
+        Arrays.fill(x.next, null);
+        Arrays.fill(x.prev, null);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public B get(int index) {
+        Objects.checkIndex(index, size);
+        return node(index).item;
+    }
+
+    //Заменяет элемент списка с заданным индексом указанным элементом
+    @Override
+    public B set(int index, B element) {
+        Objects.checkIndex(index, size);
+        final Node<B> x = node(index);
+        B oldVal = x.item;
+        x.item = element;
+        return oldVal;
+    }
+
+    //Вставляет указанный элемент в указанную позицию
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public void add(int index, B element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        linkAt(index, element);
+    }
+
+    //Удаляет элемент в указанной позиции и возвращает его
+    @Override
+    public B remove(int index) {
+        Objects.checkIndex(index, size);
+        return unlinkAt(index);
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(B e) {
+        linkAt(size, e);
+        return true;
+    }
+
+    //Удаляет все элементы из списка
+    @Override
+    public void clear() {
+        for (Node<B> x = head.next[0]; x != null; ) {
+            Node<B> next = x.next[0];
+            x.item = null;
+            Arrays.fill(x.next, null);
+            Arrays.fill(x.prev, null);
+            x = next;
+        }
+        Arrays.fill(head.next, null);
+        Arrays.fill(head.prev, head);
+        Arrays.fill(head.span, 1);
+        headShift = 0;
+        tailShift = 0;
+        level = 1;
+        size = 0;
+        modCount++;
+    }
+
+    //Добавляем элемент в начало списка
+    public void addFirst(B e) {
+        linkAt(0, e);
+    }
+
+    //Добавляем элемент в конец списка
+    public void addLast(B e) {
+        linkAt(size, e);
+    }
+
+    //Вставляет указанный элемент в начало списка
+    public boolean offerFirst(B e) {
+        addFirst(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в конец списка
+    public boolean offerLast(B e) {
+        addLast(e);
+        return true;
+    }
+
+    //Извлекает и удаляет первый элемент списка или возвращает null, если список пуст
+    public B pollFirst() {
+        return (size == 0) ? null : unlinkAt(0);
+    }
+
+    //Извлекает и удаляет последний элемент списка или возвращает null, если список пуст
+    public B pollLast() {
+        return (size == 0) ? null : unlinkAt(size - 1);
+    }
+
+    //Удаляем первый элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return unlinkAt(0);
+    }
+
+    //Удаляем последний элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return unlinkAt(size - 1);
+    }
+
+    //Получаем первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B getFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return head.next[0].item;
+    }
+
+    //Получаем последний элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B getLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return head.prev[0].item;
+    }
+
+    //Извлекает, но не удаляет, первый элемент списка или возвращает null, если список пуст
+    public B peekFirst() {
+        return (size == 0) ? null : head.next[0].item;
+    }
+
+    //Извлекает, но не удаляет, последний элемент списка или возвращает null, если список пуст
+    public B peekLast() {
+        return (size == 0) ? null : head.prev[0].item;
+    }
+
+    //Удаляет первое вхождение указанного элемента в списке
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    //Удаляет последнее вхождение указанного элемента в списке
+    public boolean removeLastOccurrence(Object o) {
+        int index = size - 1;
+        for (Node<B> x = head.prev[0]; x != head; x = x.prev[0], index--) {
+            if (Objects.equals(o, x.item)) {
+                unlinkAt(index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Добавляет указанный элемент в конец списка
+    public boolean offer(B e) {
+        return offerLast(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B remove() {
+        return removeFirst();
+    }
+
+    //Удаляет и возвращает первый элемент списка или null, если список пуст
+    public B poll() {
+        return pollFirst();
+    }
+
+    //Возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B element() {
+        return getFirst();
+    }
+
+    //Возвращает первый элемент списка или null, если список пуст
+    public B peek() {
+        return peekFirst();
+    }
+
+    //Вставляет элемент в начало списка. Этот метод эквивалентен addFirst
+    public void push(B e) {
+        addFirst(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка. Этот метод эквивалентен removeFirst()
+    public B pop() {
+        return removeFirst();
+    }
+
+    //Возвращает индекс первого вхождения указанного элемента или -1, проходя по нижнему уровню
+    @Override
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node<B> x = head.next[0]; x != null; x = x.next[0], index++) {
+            if (Objects.equals(o, x.item))
+                return index;
+        }
+        return -1;
+    }
+
+    //Возвращает индекс последнего вхождения указанного элемента или -1
+    @Override
+    public int lastIndexOf(Object o) {
+        int index = size - 1;
+        for (Node<B> x = head.prev[0]; x != head; x = x.prev[0], index--) {
+            if (Objects.equals(o, x.item))
+                return index;
+        }
+        return -1;
+    }
+
+    //Проход по всем элементам по нижнему уровню
+    @Override
+    public void forEach(Consumer<? super B> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (Node<B> x = head.next[0]; x != null && modCount == expectedModCount; x = x.next[0])
+            action.accept(x.item);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    //Итератор по нисхождению
+    public Iterator<B> descendingIterator() {
+        return new Iterator<B>() {
+            private final ListIterator<B> itr = listIterator(size());
+
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            public B next() {
+                return itr.previous();
+            }
+
+            public void remove() {
+                itr.remove();
+            }
+        };
+    }
+
+    //Возвращает итератор списка начиная с указанной позиции. Начальный узел находится за O(log n)
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public ListIterator<B> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        return new ListItr(index);
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size;
+    }
+
+    //Итератор списка по нижнему уровню. add и remove идут через linkAt/unlinkAt по индексу,
+    //так что span на верхних уровнях остаются верными, а на концах списка работают за O(1)
+    private class ListItr implements ListIterator<B> {
+        private Node<B> lastReturned;
+        private Node<B> next;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        public B next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next[0];
+            nextIndex++;
+            return lastReturned.item;
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        public B previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            lastReturned = next = (next == null) ? head.prev[0] : next.prev[0];
+            nextIndex--;
+            return lastReturned.item;
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (next == lastReturned) {
+                next = lastReturned.next[0];
+                unlinkAt(nextIndex);
+            } else {
+                unlinkAt(--nextIndex);
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(B e) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.item = e;
+        }
+
+        public void add(B e) {
+            checkForComodification();
+            lastReturned = null;
+            linkAt(nextIndex++, e);
+            expectedModCount = modCount;
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
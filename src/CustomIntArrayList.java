@@ -0,0 +1,382 @@
+import java.util.*;
+
+//Список примитивов int, аналог CustomArrayList без упаковки в Integer.
+//Значения хранятся прямо в массиве int[], поэтому на каждый элемент не тратится отдельный объект
+//с заголовком, а проход по списку идёт по непрерывному участку памяти.
+//Методы addInt/getInt/setInt/indexOfInt работают с примитивами, а унаследованные от AbstractList
+//методы get/set/add позволяют передавать список туда, где ожидается List<Integer>
+public class CustomIntArrayList extends AbstractList<Integer>
+        implements RandomAccess, Cloneable, java.io.Serializable {
+
+    @java.io.Serial
+    private static final long serialVersionUID = 3412904473925806416L;
+
+    //Ёмкость списка по умолчанию
+    private static final int DEFAULT_CAPACITY = 10;
+
+    //Пустой массив для пустых списков
+    private static final int[] EMPTY_ELEMENTDATA = {};
+
+    //Пустой массив для списков, созданных конструктором по умолчанию.
+    //При добавлении первого элемента такой список расширяется до DEFAULT_CAPACITY
+    private static final int[] DEFAULTCAPACITY_EMPTY_ELEMENTDATA = {};
+
+    //Максимальный размер массива, который можно выделить
+    private static final int SOFT_MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    //Буфер списка, в котором хранятся значения
+    private int[] elementData;
+
+    //Размер списка
+    private int size;
+
+    //Первый конструктор. Создает пустой список с указанной начальной емкостью
+    //Генерит исключение IllegalArgumentException, если указанная начальная емкость отрицательна
+    public CustomIntArrayList(int initialCapacity) {
+        if (initialCapacity > 0) {
+            this.elementData = new int[initialCapacity];
+        } else if (initialCapacity == 0) {
+            this.elementData = EMPTY_ELEMENTDATA;
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    initialCapacity);
+        }
+    }
+
+    //Второй конструктор. Создает пустой список с начальной емкостью, по умолчанию равной десяти
+    public CustomIntArrayList() {
+        this.elementData = DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
+    }
+
+    //Третий конструктор. Создает список, содержащий копию указанного массива
+    public CustomIntArrayList(int[] values) {
+        if ((size = values.length) != 0) {
+            elementData = values.clone();
+        } else {
+            elementData = EMPTY_ELEMENTDATA;
+        }
+    }
+
+    //Сокращает ёмкость списка до текущего размера
+    public void trimToSize() {
+        modCount++;
+        if (size < elementData.length) {
+            elementData = (size == 0)
+                    ? EMPTY_ELEMENTDATA
+                    : Arrays.copyOf(elementData, size);
+        }
+    }
+
+    //При необходимости увеличивает емкость списка, чтобы гарантировать минимальную емкость
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length
+                && !(elementData == DEFAULTCAPACITY_EMPTY_ELEMENTDATA
+                && minCapacity <= DEFAULT_CAPACITY)) {
+            modCount++;
+            grow(minCapacity);
+        }
+    }
+
+    //Увеличивает ёмкость списка до минимальной, в остальном так же, как CustomArrayList.grow: в полтора раза
+    private int[] grow(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (oldCapacity > 0 || elementData != DEFAULTCAPACITY_EMPTY_ELEMENTDATA) {
+            int newCapacity = newLength(oldCapacity,
+                    minCapacity - oldCapacity, /* minimum growth */
+                    oldCapacity >> 1           /* preferred growth */);
+            return elementData = Arrays.copyOf(elementData, newCapacity);
+        } else {
+            return elementData = new int[Math.max(DEFAULT_CAPACITY, minCapacity)];
+        }
+    }
+
+    //Вторая реализация метода. Увеличивает ёмкость списка на 1 при добавлении нового элемента
+    private int[] grow() {
+        return grow(size + 1);
+    }
+
+    //Вычисляет новую длину массива с учётом желаемого прироста и ограничения на размер массива
+    private static int newLength(int oldLength, int minGrowth, int prefGrowth) {
+        int prefLength = oldLength + Math.max(minGrowth, prefGrowth);
+        if (0 < prefLength && prefLength <= SOFT_MAX_ARRAY_LENGTH) {
+            return prefLength;
+        }
+        int minLength = oldLength + minGrowth;
+        if (minLength < 0) {
+            throw new OutOfMemoryError(
+                    "Required array length " + oldLength + " + " + minGrowth + " is too large");
+        }
+        return Math.max(minLength, SOFT_MAX_ARRAY_LENGTH);
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //Метод определения, является ли список пустым
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //Возвращает значение с указанным индексом без упаковки
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return elementData[index];
+    }
+
+    //Заменяет значение с указанным индексом и возвращает старое значение
+    public int setInt(int index, int value) {
+        Objects.checkIndex(index, size);
+        int oldValue = elementData[index];
+        elementData[index] = value;
+        return oldValue;
+    }
+
+    //Добавляет значение в конец списка
+    public void addInt(int value) {
+        modCount++;
+        int s = size;
+        int[] elementData = this.elementData;
+        if (s == elementData.length)
+            elementData = grow();
+        elementData[s] = value;
+        size = s + 1;
+    }
+
+    //Вставляет значение в указанную позицию, сдвигая последующие значения вправо
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    public void addInt(int index, int value) {
+        rangeCheckForAdd(index);
+        modCount++;
+        final int s;
+        int[] elementData;
+        if ((s = size) == (elementData = this.elementData).length)
+            elementData = grow();
+        System.arraycopy(elementData, index,
+                elementData, index + 1,
+                s - index);
+        elementData[index] = value;
+        size = s + 1;
+    }
+
+    //Удаляет значение в указанной позиции, сдвигая последующие значения влево, и возвращает его
+    public int removeIntAt(int index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+        final int[] es = elementData;
+        int oldValue = es[index];
+        final int newSize;
+        if ((newSize = size - 1) > index)
+            System.arraycopy(es, index + 1, es, index, newSize - index);
+        size = newSize;
+        return oldValue;
+    }
+
+    //Возвращает индекс первого вхождения значения или -1, если значения в списке нет
+    public int indexOfInt(int value) {
+        final int[] es = elementData;
+        for (int i = 0, s = size; i < s; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //Возвращает количество значений, равных value
+    public int countInt(int value) {
+        final int[] es = elementData;
+        int count = 0;
+        for (int i = 0, s = size; i < s; i++)
+            count += (es[i] == value) ? 1 : 0;
+        return count;
+    }
+
+    //Возвращает количество значений в полуоткрытом диапазоне [from, to): from включительно, to не включая
+    //Генерит исключение IllegalArgumentException, если from больше to
+    public int countInRange(int from, int to) {
+        rangeCheck(from, to);
+        final int[] es = elementData;
+        final int width = to - from;
+        int count = 0;
+        for (int i = 0, s = size; i < s; i++)
+            count += (Integer.compareUnsigned(es[i] - from, width) < 0) ? 1 : 0;
+        return count;
+    }
+
+    //Возвращает битовую карту: бит i установлен, если значение с индексом i лежит в полуоткрытом
+    //диапазоне [from, to): from включительно, to не включая.
+    //Сравнение в диапазоне сводится к одному беззнаковому сравнению, а биты набираются в слово
+    //без ветвлений, по 64 значения за раз
+    //Генерит исключение IllegalArgumentException, если from больше to
+    public BitSet filterRange(int from, int to) {
+        rangeCheck(from, to);
+        final int[] es = elementData;
+        final int s = size;
+        final int width = to - from;
+        final long[] words = new long[(s + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            int base = w << 6;
+            int end = Math.min(64, s - base);
+            long word = 0;
+            for (int j = 0; j < end; j++)
+                word |= ((Integer.compareUnsigned(es[base + j] - from, width) < 0) ? 1L : 0L) << j;
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    //Проверка границ диапазона значений. Разность to - from может переполнить int, но беззнаковое
+    //сравнение с ней остаётся верным, пока from не больше to
+    private static void rangeCheck(int from, int to) {
+        if (from > to)
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+    }
+
+    //Возвращает наименьшее значение списка
+    //Может генерировать NoSuchElementException в случае, если список пустой
+    public int min() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        final int[] es = elementData;
+        int min = es[0];
+        for (int i = 1, s = size; i < s; i++)
+            min = Math.min(min, es[i]);
+        return min;
+    }
+
+    //Возвращает наибольшее значение списка
+    //Может генерировать NoSuchElementException в случае, если список пустой
+    public int max() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        final int[] es = elementData;
+        int max = es[0];
+        for (int i = 1, s = size; i < s; i++)
+            max = Math.max(max, es[i]);
+        return max;
+    }
+
+    //Возвращает индекс последнего вхождения значения или -1, если значения в списке нет
+    public int lastIndexOfInt(int value) {
+        final int[] es = elementData;
+        for (int i = size - 1; i >= 0; i--) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //Проверяет, содержит ли список указанное значение
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    //Сортирует значения по возрастанию
+    public void sort() {
+        Arrays.sort(elementData, 0, size);
+        modCount++;
+    }
+
+    //Удаляет все значения из списка
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+
+    //Возвращает новый массив со всеми значениями списка
+    public int[] toIntArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+
+    //Методы интерфейса List<Integer>. Они упаковывают значения, поэтому в горячих циклах
+    //лучше использовать getInt/setInt/addInt
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        addInt(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        addInt(index, element);
+    }
+
+    @Override
+    public Integer remove(int index) {
+        return removeIntAt(index);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return (o instanceof Integer) ? indexOfInt((Integer) o) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return (o instanceof Integer) ? lastIndexOfInt((Integer) o) : -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    //Сравнивает списки, не упаковывая значения, если второй список тоже CustomIntArrayList
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof CustomIntArrayList) {
+            CustomIntArrayList other = (CustomIntArrayList) o;
+            return Arrays.equals(elementData, 0, size, other.elementData, 0, other.size);
+        }
+        return super.equals(o);
+    }
+
+    //Хэш-код совпадает с хэш-кодом List<Integer> с теми же значениями
+    public int hashCode() {
+        final int[] es = elementData;
+        int hashCode = 1;
+        for (int i = 0, s = size; i < s; i++)
+            hashCode = 31 * hashCode + es[i];
+        return hashCode;
+    }
+
+    //Возвращает поверхностную копию списка
+    public Object clone() {
+        try {
+            CustomIntArrayList v = (CustomIntArrayList) super.clone();
+            v.elementData = Arrays.copyOf(elementData, size);
+            v.modCount = 0;
+            return v;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    //Версия метода rangeCheck, используемая методами добавления
+    private void rangeCheckForAdd(int index) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size;
+    }
+}
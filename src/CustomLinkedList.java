@@ -1,3 +1,8 @@
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.Consumer;
 
@@ -12,6 +17,13 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
     //Курсор на последнюю запись
     transient Node<B> last;
 
+    //Необязательный пул освобождённых узлов, связанных через next. Узлы, удалённые из списка, попадают
+    //в пул, а новые элементы сначала берут узел из пула, так что в установившемся режиме очереди
+    //(offer/poll) узлы не создаются. poolCapacity - наибольший размер пула, 0 - пул выключен
+    private transient Node<B> pool;
+    private transient int poolSize;
+    private transient int poolCapacity;
+
     //Тут два конструктора
     //Первый для пустого листа
     public CustomLinkedList() {
@@ -25,10 +37,60 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
         addAll(c);
     }
 
+    //Включает пул освобождённых узлов размером не больше capacity.
+    //Пул ускоряет работу списка как очереди; итераторы и сплитераторы после изменения списка в обход них
+    //по-прежнему генерируют ConcurrentModificationException
+    //Генерит исключение IllegalArgumentException, если размер пула отрицательный
+    public void enableNodePool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    capacity);
+        }
+        poolCapacity = capacity;
+        while (poolSize > capacity) {
+            Node<B> x = pool;
+            pool = x.next;
+            x.next = null;
+            poolSize--;
+        }
+    }
+
+    //Выключает пул освобождённых узлов и освобождает занятую им память
+    public void disableNodePool() {
+        enableNodePool(0);
+    }
+
+    //Возвращает наибольший размер пула освобождённых узлов; 0, если пул выключен
+    public int getNodePoolCapacity() {
+        return poolCapacity;
+    }
+
+    //Создаёт узел или берёт его из пула
+    private Node<B> newNode(Node<B> prev, B element, Node<B> next) {
+        final Node<B> x = pool;
+        if (x == null)
+            return new Node<>(prev, element, next);
+        pool = x.next;
+        poolSize--;
+        x.prev = prev;
+        x.item = element;
+        x.next = next;
+        return x;
+    }
+
+    //Возвращает удалённый из списка узел в пул, если в пуле есть место. Поля узла уже должны быть очищены
+    private void recycle(Node<B> x) {
+        if (poolSize < poolCapacity) {
+            x.next = pool;
+            pool = x;
+            poolSize++;
+        }
+    }
+
     //Создание и связывание первого элемента списка
     private void linkFirst(B e) {
         final Node<B> f = first;
-        final Node<B> newNode = new Node<>(null, e, f);
+        final Node<B> newNode = newNode(null, e, f);
         first = newNode;
         if (f == null)
             last = newNode;
@@ -41,7 +103,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
     //Создание и связывание последнего элемента списка
     void linkLast(B e) {
         final Node<B> l = last;
-        final Node<B> newNode = new Node<>(l, e, null);
+        final Node<B> newNode = newNode(l, e, null);
         last = newNode;
         if (l == null)
             first = newNode;
@@ -54,7 +116,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
     //Вставка нового элемента списка перед текущий (не должен быть пустым)
     void linkBefore(B e, Node<B> succ) {
         final Node<B> pred = succ.prev;
-        final Node<B> newNode = new Node<>(pred, e, succ);
+        final Node<B> newNode = newNode(pred, e, succ);
         succ.prev = newNode;
         if (pred == null)
             first = newNode;
@@ -77,6 +139,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
             next.prev = null;
         size--;
         modCount++;
+        recycle(f);
         return element;
     }
 
@@ -93,6 +156,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
             prev.next = null;
         size--;
         modCount++;
+        recycle(l);
         return element;
     }
 
@@ -119,6 +183,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
         x.item = null;
         size--;
         modCount++;
+        recycle(x);
         return element;
     }
 
@@ -243,7 +308,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
 
         for (Object o : a) {
             B e = (B) o;
-            Node<B> newNode = new Node<>(pred, e, null);
+            Node<B> newNode = newNode(pred, e, null);
             if (pred == null)
                 first = newNode;
             else
@@ -270,6 +335,7 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
             x.item = null;
             x.next = null;
             x.prev = null;
+            recycle(x);
             x = next;
         }
         first = last = null;
@@ -654,6 +720,8 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
         clone.first = clone.last = null;
         clone.size = 0;
         clone.modCount = 0;
+        clone.pool = null;
+        clone.poolSize = 0;
 
         for (Node<B> x = first; x != null; x = x.next)
             clone.add(x.item);
@@ -724,6 +792,128 @@ public class CustomLinkedList<B> extends AbstractSequentialList<B>
             linkLast((B)s.readObject());
     }
 
+    //Формат блочной записи: заголовок из сигнатуры, версии и размера элемента, затем блоки
+    //[количество элементов][элементы в раскладке ElementLayout] и в конце блок с нулевым количеством
+    private static final int BLOCKS_MAGIC = 0x434C4C53; // "CLLS"
+    private static final int BLOCKS_VERSION = 1;
+
+    //Пишет список в поток блоками по blockSize элементов. Каждый блок собирается в массив байтов
+    //и уходит в поток одним вызовом write, а не отдельным writeObject на каждый узел
+    //Может генерировать исключение IOException в случае, если возникает ошибка ввода/вывода
+    //Генерит исключение IllegalArgumentException, если blockSize не положительный
+    public void writeBlocks(OutputStream out, ElementLayout<? super B> layout, int blockSize) throws IOException {
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Illegal block size: " + blockSize);
+        final int expectedModCount = modCount;
+        final int elementSize = layout.byteSize();
+        int perBlock = Math.min(blockSize, (Integer.MAX_VALUE - Integer.BYTES) / elementSize);
+        int bufferElements = Math.min(perBlock, Math.max(size, 1));
+        ByteBuffer buffer = ByteBuffer.allocate(
+                Math.max(3 * Integer.BYTES, Integer.BYTES + bufferElements * elementSize));
+        buffer.putInt(BLOCKS_MAGIC).putInt(BLOCKS_VERSION).putInt(elementSize);
+        out.write(buffer.array(), 0, buffer.position());
+
+        Node<B> x = first;
+        while (x != null) {
+            int n = 0;
+            for (; x != null && n < bufferElements; x = x.next, n++)
+                layout.write(buffer, Integer.BYTES + n * elementSize, x.item);
+            buffer.putInt(0, n);
+            out.write(buffer.array(), 0, Integer.BYTES + n * elementSize);
+        }
+        buffer.putInt(0, 0);
+        out.write(buffer.array(), 0, Integer.BYTES);
+        out.flush();
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    //Читает из потока весь список, записанный методом writeBlocks, и добавляет элементы в конец этого списка
+    //Может генерировать исключение IOException в случае, если поток повреждён или раскладка не совпадает
+    public void readBlocks(InputStream in, ElementLayout<? extends B> layout) throws IOException {
+        BlockReader<? extends B> reader = new BlockReader<>(in, layout);
+        while (reader.readBlock(this) >= 0)
+            ;
+    }
+
+    //Создаёт читателя блоков для потока, записанного методом writeBlocks. Заголовок читается сразу,
+    //а блоки - по одному вызовом readBlock, так что поток можно разбирать по мере поступления данных
+    //Может генерировать исключение IOException в случае, если заголовок повреждён или раскладка не совпадает
+    public static <B> BlockReader<B> blockReader(InputStream in, ElementLayout<B> layout) throws IOException {
+        return new BlockReader<>(in, layout);
+    }
+
+    //Читатель потока, записанного методом writeBlocks
+    public static final class BlockReader<B> {
+        private final DataInputStream in;
+        private final ElementLayout<B> layout;
+        private final int elementSize;
+        private byte[] block = new byte[0];
+        private boolean finished;
+
+        BlockReader(InputStream in, ElementLayout<B> layout) throws IOException {
+            this.in = new DataInputStream(in);
+            this.layout = layout;
+            this.elementSize = layout.byteSize();
+            if (this.in.readInt() != BLOCKS_MAGIC)
+                throw new IOException("Not a CustomLinkedList block stream");
+            int version = this.in.readInt();
+            if (version != BLOCKS_VERSION)
+                throw new IOException("Unsupported version " + version);
+            int storedElementSize = this.in.readInt();
+            if (storedElementSize != elementSize)
+                throw new IOException("Element size " + storedElementSize
+                        + " does not match layout size " + elementSize);
+        }
+
+        //Читает следующий блок и добавляет его элементы в конец target одной операцией.
+        //Возвращает количество прочитанных элементов или -1, если поток закончился
+        public int readBlock(CustomLinkedList<? super B> target) throws IOException {
+            if (finished)
+                return -1;
+            int n = in.readInt();
+            if (n == 0) {
+                finished = true;
+                return -1;
+            }
+            if (n < 0 || n > (Integer.MAX_VALUE - Integer.BYTES) / elementSize)
+                throw new IOException("Invalid block size: " + n);
+            int bytes = n * elementSize;
+            if (block.length < bytes)
+                block = new byte[bytes];
+            in.readFully(block, 0, bytes);
+            ByteBuffer buffer = ByteBuffer.wrap(block, 0, bytes);
+            Object[] a = new Object[n];
+            for (int i = 0; i < n; i++)
+                a[i] = layout.read(buffer, i * elementSize);
+            target.linkAllLast(a);
+            return n;
+        }
+    }
+
+    //Связывает все элементы массива в цепочку узлов и присоединяет её к концу списка одной операцией
+    private void linkAllLast(Object[] a) {
+        int numNew = a.length;
+        if (numNew == 0)
+            return;
+        Node<B> head = newNode(null, (B) a[0], null);
+        Node<B> tail = head;
+        for (int i = 1; i < numNew; i++) {
+            Node<B> node = newNode(tail, (B) a[i], null);
+            tail.next = node;
+            tail = node;
+        }
+        final Node<B> l = last;
+        head.prev = l;
+        if (l == null)
+            first = head;
+        else
+            l.next = head;
+        last = tail;
+        size += numNew;
+        modCount++;
+    }
+
     //
     @Override
     public Spliterator<B> spliterator() {
@@ -0,0 +1,249 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+//Список элементов фиксированного размера, которые хранятся вне кучи в прямом буфере (ByteBuffer.allocateDirect).
+//В куче остаётся только сам объект списка и буфер, поэтому сборщику мусора не нужно обходить
+//массив из миллионов ссылок, как в CustomArrayList.elementData.
+//Раскладка элемента задаётся через ElementLayout. Методы get/set/add превращают байты в объекты и обратно,
+//а getInt/setInt позволяют читать и писать поля прямо в буфере, не создавая объектов
+//После вызова close() список больше нельзя использовать
+public class CustomOffHeapList<A> extends AbstractList<A>
+        implements RandomAccess, AutoCloseable {
+
+    //Ёмкость списка по умолчанию (в элементах)
+    private static final int DEFAULT_CAPACITY = 10;
+
+    //Раскладка элемента
+    private final ElementLayout<A> layout;
+
+    //Размер одного элемента в байтах
+    private final int elementSize;
+
+    //Буфер вне кучи; null после вызова close()
+    private ByteBuffer buffer;
+
+    //Ёмкость буфера в элементах
+    private int capacity;
+
+    //Размер списка
+    private int size;
+
+    //Первый конструктор. Создает пустой список с указанной начальной емкостью
+    //Генерит исключение IllegalArgumentException, если указанная начальная емкость отрицательна
+    public CustomOffHeapList(ElementLayout<A> layout, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    initialCapacity);
+        }
+        this.layout = Objects.requireNonNull(layout);
+        this.elementSize = layout.byteSize();
+        if (elementSize <= 0) {
+            throw new IllegalArgumentException("Illegal element size: " + elementSize);
+        }
+        this.buffer = allocate(initialCapacity);
+        this.capacity = initialCapacity;
+    }
+
+    //Второй конструктор. Создает пустой список с начальной емкостью, по умолчанию равной десяти
+    public CustomOffHeapList(ElementLayout<A> layout) {
+        this(layout, DEFAULT_CAPACITY);
+    }
+
+    //Выделяет прямой буфер под указанное количество элементов
+    private ByteBuffer allocate(int elements) {
+        long bytes = (long) elements * elementSize;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required buffer size " + bytes + " is too large");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    //При необходимости увеличивает емкость списка, чтобы гарантировать минимальную емкость
+    public void ensureCapacity(int minCapacity) {
+        buffer();
+        if (minCapacity > capacity) {
+            grow(minCapacity);
+        }
+    }
+
+    //Увеличивает ёмкость в полтора раза (но не меньше minCapacity) и переносит содержимое в новый буфер
+    private void grow(int minCapacity) {
+        ByteBuffer old = buffer();
+        int maxCapacity = Integer.MAX_VALUE / elementSize;
+        if (minCapacity > maxCapacity) {
+            throw new OutOfMemoryError("Required capacity " + minCapacity + " is too large");
+        }
+        int newCapacity = Math.min(maxCapacity,
+                Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1))));
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(0, old, 0, size * elementSize);
+        buffer = grown;
+        capacity = newCapacity;
+    }
+
+    //Сокращает ёмкость списка до текущего размера
+    public void trimToSize() {
+        ByteBuffer old = buffer();
+        if (size < capacity) {
+            ByteBuffer trimmed = allocate(size);
+            trimmed.put(0, old, 0, size * elementSize);
+            buffer = trimmed;
+            capacity = size;
+        }
+    }
+
+    //Возвращает буфер или генерирует IllegalStateException, если список уже закрыт.
+    //Методы доступа вызывают его до проверки индекса, чтобы закрытый список давал IllegalStateException,
+    //а не IndexOutOfBoundsException из-за нулевого размера
+    private ByteBuffer buffer() {
+        ByteBuffer b = buffer;
+        if (b == null) {
+            throw new IllegalStateException("List is closed");
+        }
+        return b;
+    }
+
+    //Смещение элемента с указанным индексом в байтах
+    private int offset(int index) {
+        return index * elementSize;
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //Возвращает элемент в указанной позиции списка, читая его из буфера
+    @Override
+    public A get(int index) {
+        ByteBuffer b = buffer();
+        Objects.checkIndex(index, size);
+        return layout.read(b, offset(index));
+    }
+
+    //Заменяет элемент списка с заданным индексом указанным элементом
+    @Override
+    public A set(int index, A element) {
+        ByteBuffer b = buffer();
+        Objects.checkIndex(index, size);
+        A oldValue = layout.read(b, offset(index));
+        layout.write(b, offset(index), element);
+        return oldValue;
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(A element) {
+        buffer();
+        modCount++;
+        int s = size;
+        if (s == capacity)
+            grow(s + 1);
+        layout.write(buffer(), offset(s), element);
+        size = s + 1;
+        return true;
+    }
+
+    //Вставляет указанный элемент в указанную позицию, сдвигая последующие элементы вправо
+    @Override
+    public void add(int index, A element) {
+        buffer();
+        rangeCheckForAdd(index);
+        modCount++;
+        int s = size;
+        if (s == capacity)
+            grow(s + 1);
+        ByteBuffer b = buffer();
+        b.put(offset(index + 1), b, offset(index), (s - index) * elementSize);
+        layout.write(b, offset(index), element);
+        size = s + 1;
+    }
+
+    //Удаляет элемент в указанной позиции, сдвигая последующие элементы влево
+    @Override
+    public A remove(int index) {
+        ByteBuffer b = buffer();
+        Objects.checkIndex(index, size);
+        modCount++;
+        A oldValue = layout.read(b, offset(index));
+        int newSize = size - 1;
+        if (newSize > index)
+            b.put(offset(index), b, offset(index + 1), (newSize - index) * elementSize);
+        size = newSize;
+        return oldValue;
+    }
+
+    //Удаляет все элементы из списка. Память буфера при этом не освобождается
+    @Override
+    public void clear() {
+        buffer();
+        modCount++;
+        size = 0;
+    }
+
+    //Удаляет из списка элементы в диапазоне от fromIndex включительно до toIndex не включая
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        ByteBuffer b = buffer();
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    "From Index: " + fromIndex + " > To Index: " + toIndex);
+        }
+        modCount++;
+        b.put(offset(fromIndex), b, offset(toIndex), (size - toIndex) * elementSize);
+        size -= toIndex - fromIndex;
+    }
+
+    //Читает поле типа int элемента с указанным индексом, не создавая объект элемента
+    //fieldOffset - смещение поля внутри элемента в байтах
+    public int getInt(int index, int fieldOffset) {
+        ByteBuffer b = buffer();
+        Objects.checkIndex(index, size);
+        Objects.checkFromIndexSize(fieldOffset, Integer.BYTES, elementSize);
+        return b.getInt(offset(index) + fieldOffset);
+    }
+
+    //Записывает поле типа int элемента с указанным индексом, не создавая объект элемента
+    public void setInt(int index, int fieldOffset, int value) {
+        ByteBuffer b = buffer();
+        Objects.checkIndex(index, size);
+        Objects.checkFromIndexSize(fieldOffset, Integer.BYTES, elementSize);
+        b.putInt(offset(index) + fieldOffset, value);
+    }
+
+    //Возвращает индекс первого элемента, у которого поле типа int равно value, или -1, если такого нет.
+    //Проход идёт прямо по буферу, без создания объектов
+    public int indexOfInt(int fieldOffset, int value) {
+        final ByteBuffer b = buffer();
+        Objects.checkFromIndexSize(fieldOffset, Integer.BYTES, elementSize);
+        for (int i = 0, s = size, pos = fieldOffset; i < s; i++, pos += elementSize) {
+            if (b.getInt(pos) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //Отпускает буфер. Прямая память возвращается системе, когда сборщик мусора собирает объект буфера;
+    //после закрытия любое чтение или изменение элементов генерирует IllegalStateException, а size() возвращает 0
+    @Override
+    public void close() {
+        modCount++;
+        buffer = null;
+        capacity = 0;
+        size = 0;
+    }
+
+    //Версия метода rangeCheck, используемая методом add
+    private void rangeCheckForAdd(int index) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size;
+    }
+}
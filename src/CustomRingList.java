@@ -0,0 +1,416 @@
+import java.util.*;
+
+//Список на кольцевом буфере: элементы лежат в elementData начиная с позиции head и при достижении конца
+//массива продолжаются с его начала.
+//Добавление и удаление с обоих концов (add(0, e), remove(0), addFirst, pollFirst, addLast, pollLast)
+//работают за амортизированное O(1), поэтому список подходит как очередь FIFO. Доступ по индексу остаётся O(1).
+//Вставка и удаление в середине сдвигают ту часть списка, которая короче.
+//Реализует одновременно List и Deque, как CustomLinkedList; элементы могут быть равны null
+public class CustomRingList<A> extends AbstractList<A>
+        implements List<A>, Deque<A>, RandomAccess {
+
+    //Ёмкость списка по умолчанию
+    private static final int DEFAULT_CAPACITY = 10;
+
+    //Кольцевой буфер с элементами
+    private Object[] elementData;
+
+    //Позиция первого элемента в буфере
+    private int head;
+
+    //Размер списка
+    private int size;
+
+    //Первый конструктор. Создает пустой список с указанной начальной емкостью
+    //Генерит исключение IllegalArgumentException, если указанная начальная емкость отрицательна
+    public CustomRingList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    initialCapacity);
+        }
+        elementData = new Object[initialCapacity];
+    }
+
+    //Второй конструктор. Создает пустой список с начальной емкостью, по умолчанию равной десяти
+    public CustomRingList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    //Третий конструктор. Создает список, содержащий элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public CustomRingList(Collection<? extends A> c) {
+        Object[] a = c.toArray();
+        elementData = Arrays.copyOf(a, Math.max(a.length, DEFAULT_CAPACITY), Object[].class);
+        size = a.length;
+    }
+
+    //Позиция в буфере для элемента с указанным индексом
+    private int physical(int index) {
+        int p = head + index;
+        return (p >= elementData.length) ? p - elementData.length : p;
+    }
+
+    //Позиция в буфере перед указанной (с переходом через начало массива)
+    private int dec(int p) {
+        return (p == 0) ? elementData.length - 1 : p - 1;
+    }
+
+    //Позиция в буфере после указанной (с переходом через конец массива)
+    private int inc(int p) {
+        return (p == elementData.length - 1) ? 0 : p + 1;
+    }
+
+    //Возвращает элемент с указанным индексом без проверки границ
+    private A elementData(int index) {
+        return (A) elementData[physical(index)];
+    }
+
+    //Гарантирует, что в буфере есть место ещё для needed элементов.
+    //При расширении элементы переписываются в новый массив подряд, начиная с нулевой позиции
+    private void ensureFree(int needed) {
+        final Object[] es = elementData;
+        if (es.length - size >= needed)
+            return;
+        int newCapacity = GrowthPolicy.DEFAULT.newCapacity(es.length,
+                Math.max(DEFAULT_CAPACITY, size + needed));
+        Object[] grown = new Object[newCapacity];
+        int firstPart = Math.min(size, es.length - head);
+        System.arraycopy(es, head, grown, 0, firstPart);
+        System.arraycopy(es, 0, grown, firstPart, size - firstPart);
+        elementData = grown;
+        head = 0;
+    }
+
+    //При необходимости увеличивает емкость списка, чтобы гарантировать минимальную емкость
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > size)
+            ensureFree(minCapacity - size);
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //Метод определения, является ли список пустым
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    @Override
+    public A get(int index) {
+        Objects.checkIndex(index, size);
+        return elementData(index);
+    }
+
+    //Заменяет элемент списка с заданным индексом указанным элементом
+    @Override
+    public A set(int index, A element) {
+        Objects.checkIndex(index, size);
+        int p = physical(index);
+        A oldValue = (A) elementData[p];
+        elementData[p] = element;
+        return oldValue;
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(A e) {
+        addLast(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в указанную позицию, сдвигая ту часть списка, которая короче
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public void add(int index, A element) {
+        rangeCheckForAdd(index);
+        if (index == 0) {
+            addFirst(element);
+        } else if (index == size) {
+            addLast(element);
+        } else {
+            modCount++;
+            ensureFree(1);
+            final Object[] es = elementData;
+            if (index < size - index) {
+                head = dec(head);
+                for (int i = 0, p = head; i < index; i++) {
+                    int next = inc(p);
+                    es[p] = es[next];
+                    p = next;
+                }
+            } else {
+                for (int i = size, p = physical(size); i > index; i--) {
+                    int prev = dec(p);
+                    es[p] = es[prev];
+                    p = prev;
+                }
+            }
+            es[physical(index)] = element;
+            size++;
+        }
+    }
+
+    //Удаляет элемент в указанной позиции, сдвигая ту часть списка, которая короче
+    @Override
+    public A remove(int index) {
+        Objects.checkIndex(index, size);
+        A oldValue = elementData(index);
+        removeRange(index, index + 1);
+        return oldValue;
+    }
+
+    //Удаляет из списка элементы в диапазоне от fromIndex включительно до toIndex не включая.
+    //Сдвигается та часть списка (до диапазона или после него), которая короче
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    "From Index: " + fromIndex + " > To Index: " + toIndex);
+        }
+        int removed = toIndex - fromIndex;
+        if (removed == 0)
+            return;
+        modCount++;
+        final Object[] es = elementData;
+        if (fromIndex < size - toIndex) {
+            for (int i = fromIndex - 1; i >= 0; i--)
+                es[physical(i + removed)] = es[physical(i)];
+            for (int i = 0; i < removed; i++)
+                es[physical(i)] = null;
+            head = physical(removed);
+        } else {
+            for (int i = toIndex; i < size; i++)
+                es[physical(i - removed)] = es[physical(i)];
+            for (int i = size - removed; i < size; i++)
+                es[physical(i)] = null;
+        }
+        size -= removed;
+        if (size == 0)
+            head = 0;
+    }
+
+    //Удаляет все элементы из списка
+    @Override
+    public void clear() {
+        modCount++;
+        for (int i = 0; i < size; i++)
+            elementData[physical(i)] = null;
+        head = size = 0;
+    }
+
+    //Добавляем элемент в начало списка
+    public void addFirst(A e) {
+        modCount++;
+        ensureFree(1);
+        head = dec(head);
+        elementData[head] = e;
+        size++;
+    }
+
+    //Добавляем элемент в конец списка
+    public void addLast(A e) {
+        modCount++;
+        ensureFree(1);
+        elementData[physical(size)] = e;
+        size++;
+    }
+
+    //Вставляет указанный элемент в начало списка
+    public boolean offerFirst(A e) {
+        addFirst(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в конец списка
+    public boolean offerLast(A e) {
+        addLast(e);
+        return true;
+    }
+
+    //Удаляем первый элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return pollFirst();
+    }
+
+    //Удаляем последний элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return pollLast();
+    }
+
+    //Извлекает и удаляет первый элемент списка или возвращает null, если список пуст
+    public A pollFirst() {
+        if (size == 0)
+            return null;
+        modCount++;
+        final Object[] es = elementData;
+        A e = (A) es[head];
+        es[head] = null;
+        head = inc(head);
+        if (--size == 0)
+            head = 0;
+        return e;
+    }
+
+    //Извлекает и удаляет последний элемент списка или возвращает null, если список пуст
+    public A pollLast() {
+        if (size == 0)
+            return null;
+        modCount++;
+        int p = physical(size - 1);
+        A e = (A) elementData[p];
+        elementData[p] = null;
+        if (--size == 0)
+            head = 0;
+        return e;
+    }
+
+    //Получаем первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A getFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return elementData(0);
+    }
+
+    //Получаем последний элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A getLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return elementData(size - 1);
+    }
+
+    //Извлекает, но не удаляет, первый элемент списка или возвращает null, если список пуст
+    public A peekFirst() {
+        return (size == 0) ? null : elementData(0);
+    }
+
+    //Извлекает, но не удаляет, последний элемент списка или возвращает null, если список пуст
+    public A peekLast() {
+        return (size == 0) ? null : elementData(size - 1);
+    }
+
+    //Удаляет первое вхождение указанного элемента в списке
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    //Удаляет последнее вхождение указанного элемента в списке
+    public boolean removeLastOccurrence(Object o) {
+        int i = lastIndexOf(o);
+        if (i < 0)
+            return false;
+        remove(i);
+        return true;
+    }
+
+    //Добавляет указанный элемент в конец списка
+    public boolean offer(A e) {
+        return offerLast(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A remove() {
+        return removeFirst();
+    }
+
+    //Удаляет и возвращает первый элемент списка или null, если список пуст
+    public A poll() {
+        return pollFirst();
+    }
+
+    //Возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public A element() {
+        return getFirst();
+    }
+
+    //Возвращает первый элемент списка или null, если список пуст
+    public A peek() {
+        return peekFirst();
+    }
+
+    //Вставляет элемент в начало списка. Этот метод эквивалентен addFirst
+    public void push(A e) {
+        addFirst(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка. Этот метод эквивалентен removeFirst()
+    public A pop() {
+        return removeFirst();
+    }
+
+    //Итератор по нисхождению
+    public Iterator<A> descendingIterator() {
+        return new Iterator<A>() {
+            private final ListIterator<A> itr = listIterator(size());
+
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            public A next() {
+                return itr.previous();
+            }
+
+            public void remove() {
+                itr.remove();
+            }
+        };
+    }
+
+    //Возвращает индекс первого вхождения указанного элемента или -1
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, elementData(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    //Возвращает индекс последнего вхождения указанного элемента или -1
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(o, elementData(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    //Возвращает массив со всеми элементами списка в правильной последовательности
+    @Override
+    public Object[] toArray() {
+        final Object[] es = elementData;
+        Object[] result = new Object[size];
+        int firstPart = Math.min(size, es.length - head);
+        System.arraycopy(es, head, result, 0, firstPart);
+        System.arraycopy(es, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    //Версия метода rangeCheck, используемая методом add
+    private void rangeCheckForAdd(int index) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size;
+    }
+}
@@ -0,0 +1,546 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+//Развёрнутый связный список (unrolled linked list): каждый узел хранит не один элемент, как
+//в CustomLinkedList, а небольшой массив из nodeCapacity элементов.
+//Заголовок объекта и ссылки prev/next приходятся на целый блок элементов, поэтому расход памяти
+//на элемент в несколько раз меньше, а проход по списку идёт по соседним ячейкам массива.
+//Поиск позиции по индексу перескакивает через узлы целиком, то есть стоит O(size / nodeCapacity).
+//Элементы узла лежат в items[start, start + count). Добавление и удаление с обоих концов работают за O(1):
+//addLast заполняет последний узел слева направо, addFirst - первый узел справа налево.
+//Вставка в середину раздваивает заполненный узел, а узел, который после удаления
+//вместе со следующим занимает не больше половины узла, сливается с ним.
+//Реализует одновременно List и Deque, как CustomLinkedList; элементы могут быть равны null
+public class CustomUnrolledLinkedList<B> extends AbstractSequentialList<B>
+        implements List<B>, Deque<B> {
+
+    //Ёмкость узла по умолчанию
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+
+    //Ёмкость одного узла
+    private final int nodeCapacity;
+
+    //Размер списка
+    private int size;
+
+    //Первый и последний узлы списка
+    private Node<B> first;
+    private Node<B> last;
+
+    //Создает пустой список с ёмкостью узла по умолчанию
+    public CustomUnrolledLinkedList() {
+        this.nodeCapacity = DEFAULT_NODE_CAPACITY;
+    }
+
+    //Создает пустой список с указанной ёмкостью узла
+    //Генерит исключение IllegalArgumentException, если ёмкость узла меньше двух
+    public CustomUnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Illegal Capacity: "+
+                    nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    //Создает список, содержащий элементы указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public CustomUnrolledLinkedList(Collection<? extends B> c) {
+        this();
+        addAll(c);
+    }
+
+    //Узел списка: массив элементов и ссылки на соседние узлы
+    private static final class Node<B> {
+        final Object[] items;
+        int start;
+        int count;
+        Node<B> prev;
+        Node<B> next;
+
+        Node(int capacity, int start) {
+            this.items = new Object[capacity];
+            this.start = start;
+        }
+
+        //Возвращает элемент с указанным смещением от начала узла
+        B item(int offset) {
+            return (B) items[start + offset];
+        }
+    }
+
+    //Вставляет новый пустой узел после узла x (или в начало списка, если x равен null)
+    private Node<B> linkNodeAfter(Node<B> x, int start) {
+        final Node<B> node = new Node<>(nodeCapacity, start);
+        final Node<B> succ = (x == null) ? first : x.next;
+        node.prev = x;
+        node.next = succ;
+        if (x == null)
+            first = node;
+        else
+            x.next = node;
+        if (succ == null)
+            last = node;
+        else
+            succ.prev = node;
+        return node;
+    }
+
+    //Удаляет пустой узел из цепочки узлов
+    private void unlinkNode(Node<B> x) {
+        final Node<B> prev = x.prev;
+        final Node<B> next = x.next;
+        if (prev == null)
+            first = next;
+        else
+            prev.next = next;
+        if (next == null)
+            last = prev;
+        else
+            next.prev = prev;
+        x.prev = x.next = null;
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //Добавляем элемент в начало списка
+    public void addFirst(B e) {
+        Node<B> f = first;
+        if (f == null || f.start == 0)
+            f = linkNodeAfter(null, nodeCapacity);
+        f.items[--f.start] = e;
+        f.count++;
+        size++;
+        modCount++;
+    }
+
+    //Добавляем элемент в конец списка
+    public void addLast(B e) {
+        Node<B> l = last;
+        if (l == null || l.start + l.count == nodeCapacity)
+            l = linkNodeAfter(l, 0);
+        l.items[l.start + l.count++] = e;
+        size++;
+        modCount++;
+    }
+
+    //Добавляет указанный элемент в конец этого списка
+    @Override
+    public boolean add(B e) {
+        addLast(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в начало списка
+    public boolean offerFirst(B e) {
+        addFirst(e);
+        return true;
+    }
+
+    //Вставляет указанный элемент в конец списка
+    public boolean offerLast(B e) {
+        addLast(e);
+        return true;
+    }
+
+    //Извлекает и удаляет первый элемент списка или возвращает null, если список пуст
+    public B pollFirst() {
+        final Node<B> f = first;
+        if (f == null)
+            return null;
+        final B e = f.item(0);
+        f.items[f.start++] = null;
+        if (--f.count == 0)
+            unlinkNode(f);
+        size--;
+        modCount++;
+        return e;
+    }
+
+    //Извлекает и удаляет последний элемент списка или возвращает null, если список пуст
+    public B pollLast() {
+        final Node<B> l = last;
+        if (l == null)
+            return null;
+        final int p = l.start + l.count - 1;
+        final B e = (B) l.items[p];
+        l.items[p] = null;
+        if (--l.count == 0)
+            unlinkNode(l);
+        size--;
+        modCount++;
+        return e;
+    }
+
+    //Удаляем первый элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B removeFirst() {
+        if (first == null)
+            throw new NoSuchElementException();
+        return pollFirst();
+    }
+
+    //Удаляем последний элемент списка и возвращаем его
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B removeLast() {
+        if (last == null)
+            throw new NoSuchElementException();
+        return pollLast();
+    }
+
+    //Получаем первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B getFirst() {
+        if (first == null)
+            throw new NoSuchElementException();
+        return first.item(0);
+    }
+
+    //Получаем последний элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B getLast() {
+        if (last == null)
+            throw new NoSuchElementException();
+        return last.item(last.count - 1);
+    }
+
+    //Извлекает, но не удаляет, первый элемент списка или возвращает null, если список пуст
+    public B peekFirst() {
+        return (first == null) ? null : first.item(0);
+    }
+
+    //Извлекает, но не удаляет, последний элемент списка или возвращает null, если список пуст
+    public B peekLast() {
+        return (last == null) ? null : last.item(last.count - 1);
+    }
+
+    //Удаляет первое вхождение указанного элемента в списке
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    //Удаляет последнее вхождение указанного элемента в списке
+    public boolean removeLastOccurrence(Object o) {
+        ListIterator<B> it = listIterator(size);
+        while (it.hasPrevious()) {
+            if (Objects.equals(o, it.previous())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Добавляет указанный элемент в конец списка
+    public boolean offer(B e) {
+        return offerLast(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B remove() {
+        return removeFirst();
+    }
+
+    //Удаляет и возвращает первый элемент списка или null, если список пуст
+    public B poll() {
+        return pollFirst();
+    }
+
+    //Возвращает первый элемент списка
+    //Может генерировать NoSuchElementException в случае, если список пуст
+    public B element() {
+        return getFirst();
+    }
+
+    //Возвращает первый элемент списка или null, если список пуст
+    public B peek() {
+        return peekFirst();
+    }
+
+    //Вставляет элемент в начало списка. Этот метод эквивалентен addFirst
+    public void push(B e) {
+        addFirst(e);
+    }
+
+    //Удаляет и возвращает первый элемент списка. Этот метод эквивалентен removeFirst()
+    public B pop() {
+        return removeFirst();
+    }
+
+    //Удаляет все элементы из списка
+    @Override
+    public void clear() {
+        for (Node<B> x = first; x != null; ) {
+            Node<B> next = x.next;
+            x.prev = x.next = null;
+            x = next;
+        }
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    //Проход по всем элементам поузлово
+    @Override
+    public void forEach(Consumer<? super B> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (Node<B> x = first; x != null && modCount == expectedModCount; x = x.next) {
+            final Object[] items = x.items;
+            for (int i = x.start, end = x.start + x.count; i < end; i++)
+                action.accept((B) items[i]);
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    //Возвращает массив со всеми элементами списка в правильной последовательности
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node<B> x = first; x != null; x = x.next) {
+            System.arraycopy(x.items, x.start, result, i, x.count);
+            i += x.count;
+        }
+        return result;
+    }
+
+    //Итератор по нисхождению
+    public Iterator<B> descendingIterator() {
+        return new Iterator<B>() {
+            private final ListIterator<B> itr = listIterator(size());
+
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            public B next() {
+                return itr.previous();
+            }
+
+            public void remove() {
+                itr.remove();
+            }
+        };
+    }
+
+    //Возвращает итератор списка начиная с указанной позиции. Через него AbstractSequentialList
+    //реализует get, set, add и remove по индексу
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public ListIterator<B> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        return new ListItr(index);
+    }
+
+    //Создает подробное сообщение IndexOutOfBoundsException
+    private String outOfBoundsMsg(int index) {
+        return "Index: "+index+", Size: "+size;
+    }
+
+    //Итератор списка. Позиция задаётся узлом next, в котором лежит следующий элемент, и смещением
+    //nextOffset этого элемента от начала узла; next равен null, если итератор стоит в конце списка
+    private class ListItr implements ListIterator<B> {
+        private Node<B> next;
+        private int nextOffset;
+        private int nextIndex;
+        private Node<B> lastReturned;
+        private int lastOffset;
+        private int expectedModCount = modCount;
+
+        //Находит узел с элементом index, перескакивая через узлы целиком с ближайшего конца списка
+        ListItr(int index) {
+            nextIndex = index;
+            if (index == size)
+                return;
+            if (index < (size >> 1)) {
+                Node<B> x = first;
+                int i = index;
+                while (i >= x.count) {
+                    i -= x.count;
+                    x = x.next;
+                }
+                next = x;
+                nextOffset = i;
+            } else {
+                Node<B> x = last;
+                int i = size - index;
+                while (i > x.count) {
+                    i -= x.count;
+                    x = x.prev;
+                }
+                next = x;
+                nextOffset = x.count - i;
+            }
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        public B next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final Node<B> x = next;
+            lastReturned = x;
+            lastOffset = nextOffset;
+            nextIndex++;
+            if (++nextOffset == x.count) {
+                next = x.next;
+                nextOffset = 0;
+            }
+            return x.item(lastOffset);
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        public B previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            if (next == null) {
+                next = last;
+                nextOffset = last.count - 1;
+            } else if (nextOffset == 0) {
+                next = next.prev;
+                nextOffset = next.count - 1;
+            } else {
+                nextOffset--;
+            }
+            nextIndex--;
+            lastReturned = next;
+            lastOffset = nextOffset;
+            return next.item(nextOffset);
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        //Удаляет последний возвращённый элемент, сдвигая внутри узла ту часть, которая короче.
+        //Опустевший узел удаляется, а узел, который вместе со следующим занимает не больше половины узла,
+        //сливается с ним
+        public void remove() {
+            checkForComodification();
+            final Node<B> x = lastReturned;
+            if (x == null)
+                throw new IllegalStateException();
+            final int k = lastOffset;
+            final boolean afterPrevious = (next == x && nextOffset == k);
+            final Object[] items = x.items;
+            final int s = x.start;
+            if (k < (x.count >> 1)) {
+                System.arraycopy(items, s, items, s + 1, k);
+                items[s] = null;
+                x.start = s + 1;
+            } else {
+                System.arraycopy(items, s + k + 1, items, s + k, x.count - k - 1);
+                items[s + x.count - 1] = null;
+            }
+            x.count--;
+            if (afterPrevious) {
+                if (k == x.count) {
+                    next = x.next;
+                    nextOffset = 0;
+                }
+            } else {
+                nextIndex--;
+                if (next == x)
+                    nextOffset--;
+            }
+            if (x.count == 0) {
+                unlinkNode(x);
+            } else {
+                mergeWithNext(x);
+            }
+            size--;
+            lastReturned = null;
+            expectedModCount = ++modCount;
+        }
+
+        //Переносит элементы следующего узла в узел x, если вместе они занимают не больше половины узла
+        private void mergeWithNext(Node<B> x) {
+            final Node<B> y = x.next;
+            if (y == null || x.count + y.count > (nodeCapacity >> 1))
+                return;
+            if (x.start + x.count + y.count > nodeCapacity) {
+                System.arraycopy(x.items, x.start, x.items, 0, x.count);
+                Arrays.fill(x.items, Math.max(x.count, x.start), x.start + x.count, null);
+                x.start = 0;
+            }
+            System.arraycopy(y.items, y.start, x.items, x.start + x.count, y.count);
+            if (next == y) {
+                next = x;
+                nextOffset += x.count;
+            }
+            x.count += y.count;
+            unlinkNode(y);
+        }
+
+        public void set(B e) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.items[lastReturned.start + lastOffset] = e;
+        }
+
+        //Вставляет элемент перед следующим элементом итератора.
+        //Если узел заполнен, его верхняя половина переносится в новый узел
+        public void add(B e) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null) {
+                addLast(e);
+                nextIndex++;
+                expectedModCount = modCount;
+                return;
+            }
+            Node<B> x = next;
+            if (x.count == nodeCapacity) {
+                final int half = nodeCapacity >> 1;
+                final Node<B> y = linkNodeAfter(x, 0);
+                y.count = x.count - half;
+                System.arraycopy(x.items, x.start + half, y.items, 0, y.count);
+                Arrays.fill(x.items, x.start + half, x.start + x.count, null);
+                x.count = half;
+                if (nextOffset >= half) {
+                    x = next = y;
+                    nextOffset -= half;
+                }
+            }
+            final Object[] items = x.items;
+            final int k = nextOffset;
+            if (x.start > 0 && (k < (x.count >> 1) || x.start + x.count == nodeCapacity)) {
+                System.arraycopy(items, x.start, items, x.start - 1, k);
+                x.start--;
+            } else {
+                System.arraycopy(items, x.start + k, items, x.start + k + 1, x.count - k);
+            }
+            items[x.start + k] = e;
+            x.count++;
+            nextOffset++;
+            nextIndex++;
+            size++;
+            expectedModCount = ++modCount;
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
@@ -1,3 +1,22 @@
+import java.nio.ByteBuffer;
+
 public class Dog {
     int height;
+
+    //Раскладка собаки в байтах: один int с ростом
+    static final ElementLayout<Dog> LAYOUT = new ElementLayout<>() {
+        public int byteSize() {
+            return Integer.BYTES;
+        }
+
+        public void write(ByteBuffer buffer, int offset, Dog dog) {
+            buffer.putInt(offset, dog.height);
+        }
+
+        public Dog read(ByteBuffer buffer, int offset) {
+            Dog dog = new Dog();
+            dog.height = buffer.getInt(offset);
+            return dog;
+        }
+    };
 }
@@ -6,4 +6,11 @@ public class DogScanner {
             System.out.println(dog.height);
         }
     }
+
+    //Тот же проход по росту собак, но без объектов Dog: значения лежат подряд в массиве int[]
+    public void scanHeights(CustomIntArrayList heights) {
+        for (int i = 0; i < heights.size(); i++) {
+            System.out.println(heights.getInt(i));
+        }
+    }
 }
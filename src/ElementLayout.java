@@ -0,0 +1,15 @@
+import java.nio.ByteBuffer;
+
+//Описание раскладки элемента фиксированного размера в байтовом буфере.
+//Используется списками, которые хранят элементы не в виде объектов в куче, а в виде байтов
+public interface ElementLayout<A> {
+
+    //Размер одного элемента в байтах
+    int byteSize();
+
+    //Записывает элемент в буфер, начиная с указанного смещения
+    void write(ByteBuffer buffer, int offset, A element);
+
+    //Читает элемент из буфера, начиная с указанного смещения
+    A read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,277 @@
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+//Неизменяемый список, который возвращают CustomArrayList.freeze() и CustomArrayList.snapshot().
+//Элементы лежат в массиве ровно нужного размера, на который больше никто не ссылается, поэтому список
+//можно без копирования и синхронизации отдавать любому количеству читающих потоков.
+//Так как список никогда не меняется, итераторы и forEach не проверяют modCount, сплитератор
+//помечен как IMMUTABLE (и NONNULL, если в списке нет null), а хэш-код вычисляется один раз и запоминается.
+//Все изменяющие методы генерируют UnsupportedOperationException
+public final class FrozenCustomArrayList<A> extends AbstractList<A>
+        implements RandomAccess, java.io.Serializable {
+
+    @java.io.Serial
+    private static final long serialVersionUID = -2741305921876540913L;
+
+    //Общий пустой список
+    private static final FrozenCustomArrayList<?> EMPTY = new FrozenCustomArrayList<>(new Object[0], 1);
+
+    //Элементы списка; длина массива равна размеру списка
+    private final Object[] elementData;
+
+    //Минимальный размер части, на которые делит список сплитератор
+    private final int spliteratorGrain;
+
+    //Признак отсутствия null в списке и признак того, что он уже вычислен
+    private transient boolean nonNull;
+    private transient boolean nonNullIsComputed;
+
+    //Запомненный хэш-код; 0 - ещё не вычислен. Как в String, значение хранится в одном поле,
+    //поэтому поток видит либо 0, либо верный хэш-код, и в худшем случае вычисляет его ещё раз.
+    //hashIsZero устанавливается, только если вычисленный хэш-код действительно равен 0
+    private transient int hash;
+    private transient boolean hashIsZero;
+
+    //Создает список поверх массива, который больше никто не изменяет
+    private FrozenCustomArrayList(Object[] elementData, int spliteratorGrain) {
+        this.elementData = elementData;
+        this.spliteratorGrain = spliteratorGrain;
+    }
+
+    //Создает неизменяемый список из массива. Массив должен иметь точный размер и не должен больше изменяться.
+    //spliteratorGrain - минимальный размер части, на которые делит список сплитератор
+    static <A> FrozenCustomArrayList<A> wrap(Object[] elementData, int spliteratorGrain) {
+        return (elementData.length == 0)
+                ? (FrozenCustomArrayList<A>) EMPTY
+                : new FrozenCustomArrayList<>(elementData, spliteratorGrain);
+    }
+
+    //Метод получения размера списка
+    @Override
+    public int size() {
+        return elementData.length;
+    }
+
+    //Возвращает элемент в указанной позиции списка
+    //Может генерировать исключение IndexOutOfBoundsException в случае, если индекс выходит за пределы
+    //допустимого диапазона
+    @Override
+    public A get(int index) {
+        return (A) elementData[index];
+    }
+
+    //Возвращает индекс первого вхождения указанного элемента или -1
+    @Override
+    public int indexOf(Object o) {
+        final Object[] es = elementData;
+        for (int i = 0; i < es.length; i++) {
+            if (Objects.equals(o, es[i]))
+                return i;
+        }
+        return -1;
+    }
+
+    //Возвращает индекс последнего вхождения указанного элемента или -1
+    @Override
+    public int lastIndexOf(Object o) {
+        final Object[] es = elementData;
+        for (int i = es.length - 1; i >= 0; i--) {
+            if (Objects.equals(o, es[i]))
+                return i;
+        }
+        return -1;
+    }
+
+    //Проверяет, содержит ли список указанный элемент
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    //Возвращает новый массив со всеми элементами списка
+    @Override
+    public Object[] toArray() {
+        return elementData.clone();
+    }
+
+    //Возвращает массив со всеми элементами списка, тип которого совпадает с типом указанного массива
+    @Override
+    public <T> T[] toArray(T[] a) {
+        final int size = elementData.length;
+        if (a.length < size)
+            return (T[]) Arrays.copyOf(elementData, size, a.getClass());
+        System.arraycopy(elementData, 0, a, 0, size);
+        if (a.length > size)
+            a[size] = null;
+        return a;
+    }
+
+    //Проход по всем элементам без проверок на изменение списка
+    @Override
+    public void forEach(Consumer<? super A> action) {
+        Objects.requireNonNull(action);
+        for (Object e : elementData)
+            action.accept((A) e);
+    }
+
+    //Итератор без проверок на изменение списка
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            int cursor;
+
+            public boolean hasNext() {
+                return cursor < elementData.length;
+            }
+
+            public A next() {
+                int i = cursor;
+                if (i >= elementData.length)
+                    throw new NoSuchElementException();
+                cursor = i + 1;
+                return (A) elementData[i];
+            }
+        };
+    }
+
+    //Сплитератор по массиву списка с характеристиками ORDERED, SIZED, SUBSIZED, IMMUTABLE
+    //и NONNULL, если в списке нет null
+    @Override
+    public Spliterator<A> spliterator() {
+        int characteristics = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE;
+        if (isNonNull())
+            characteristics |= Spliterator.NONNULL;
+        return new FrozenSpliterator<>(elementData, 0, elementData.length, spliteratorGrain, characteristics);
+    }
+
+    //Проверяет при первом обращении, что в списке нет null, и запоминает результат
+    private boolean isNonNull() {
+        if (!nonNullIsComputed) {
+            boolean result = true;
+            for (Object e : elementData) {
+                if (e == null) {
+                    result = false;
+                    break;
+                }
+            }
+            nonNull = result;
+            nonNullIsComputed = true;
+        }
+        return nonNull;
+    }
+
+    //Хэш-код вычисляется при первом обращении и затем запоминается
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = 1;
+            for (Object e : elementData)
+                h = 31 * h + (e == null ? 0 : e.hashCode());
+            if (h == 0)
+                hashIsZero = true;
+            else
+                hash = h;
+        }
+        return h;
+    }
+
+    //Сравнивает указанный объект со списком. Два замороженных списка с разными запомненными
+    //хэш-кодами сразу считаются неравными
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (o instanceof FrozenCustomArrayList) {
+            FrozenCustomArrayList<?> other = (FrozenCustomArrayList<?>) o;
+            int h = hash, otherHash = other.hash;
+            if (h != 0 && otherHash != 0 && h != otherHash)
+                return false;
+            return Arrays.equals(elementData, other.elementData);
+        }
+        return super.equals(o);
+    }
+
+    //Сплитератор по участку массива без проверок на изменение списка. Делит участок пополам,
+    //пока обе половины не меньше grain
+    private static final class FrozenSpliterator<A> implements Spliterator<A> {
+        private final Object[] es;
+        private int index;
+        private final int fence;
+        private final int grain;
+        private final int characteristics;
+
+        FrozenSpliterator(Object[] es, int origin, int fence, int grain, int characteristics) {
+            this.es = es;
+            this.index = origin;
+            this.fence = fence;
+            this.grain = grain;
+            this.characteristics = characteristics;
+        }
+
+        public Spliterator<A> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            return (mid - lo < grain) ? null
+                    : new FrozenSpliterator<>(es, lo, index = mid, grain, characteristics);
+        }
+
+        public boolean tryAdvance(Consumer<? super A> action) {
+            Objects.requireNonNull(action);
+            if (index < fence) {
+                action.accept((A) es[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super A> action) {
+            Objects.requireNonNull(action);
+            int i = index, hi = fence;
+            index = hi;
+            for (; i < hi; i++)
+                action.accept((A) es[i]);
+        }
+
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    //Изменяющие методы не поддерживаются
+    @Override
+    public boolean removeIf(Predicate<? super A> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<A> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(Comparator<? super A> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,78 @@
+//Стратегия расширения внутреннего массива списка.
+//Список вызывает newCapacity, когда текущей ёмкости не хватает, и копирует элементы в массив новой длины.
+//Готовые стратегии создаются статическими методами этого интерфейса
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    //Максимальный размер массива, который можно выделить на большинстве JVM
+    int SOFT_MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    //Стратегия по умолчанию: рост в полтора раза, как у ArrayList
+    GrowthPolicy DEFAULT = geometric(1.5);
+
+    //Возвращает новую ёмкость, которая не меньше minCapacity
+    //Параметры:
+    //oldCapacity - текущая ёмкость
+    //minCapacity - минимальная нужная ёмкость; отрицательное значение означает переполнение int
+    //Может генерировать исключение OutOfMemoryError, если нужную ёмкость нельзя выделить
+    int newCapacity(int oldCapacity, int minCapacity);
+
+    //Геометрический рост: новая ёмкость равна старой, умноженной на factor
+    //Генерит исключение IllegalArgumentException, если factor не больше единицы
+    static GrowthPolicy geometric(double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Illegal growth factor: " + factor);
+        }
+        return (oldCapacity, minCapacity) ->
+                clamp(oldCapacity, minCapacity, (long) (oldCapacity * factor));
+    }
+
+    //Рост на фиксированное количество элементов. Подходит, когда итоговый размер известен заранее
+    //и лишняя память в конце массива нежелательна
+    //Генерит исключение IllegalArgumentException, если increment не положительный
+    static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Illegal growth increment: " + increment);
+        }
+        return (oldCapacity, minCapacity) ->
+                clamp(oldCapacity, minCapacity, (long) oldCapacity + increment);
+    }
+
+    //Рост до ближайшей степени двойки, не меньшей нужной ёмкости
+    static GrowthPolicy powerOfTwo() {
+        return (oldCapacity, minCapacity) -> {
+            long target = Math.max((long) oldCapacity + 1, minCapacity);
+            return clamp(oldCapacity, minCapacity, Long.highestOneBit(target - 1) << 1);
+        };
+    }
+
+    //Геометрический рост, при котором за один раз добавляется не больше maxIncrement элементов.
+    //Для огромных списков ограничивает пиковый расход памяти в момент копирования
+    //Генерит исключение IllegalArgumentException, если factor не больше единицы или maxIncrement не положительный
+    static GrowthPolicy capped(double factor, int maxIncrement) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Illegal growth factor: " + factor);
+        }
+        if (maxIncrement <= 0) {
+            throw new IllegalArgumentException("Illegal growth increment: " + maxIncrement);
+        }
+        return (oldCapacity, minCapacity) -> {
+            long increment = Math.min((long) (oldCapacity * (factor - 1.0)), maxIncrement);
+            return clamp(oldCapacity, minCapacity, oldCapacity + increment);
+        };
+    }
+
+    //Приводит желаемую ёмкость к допустимой: не меньше minCapacity, не меньше oldCapacity + 1 и,
+    //по возможности, не больше SOFT_MAX_ARRAY_LENGTH
+    private static int clamp(int oldCapacity, int minCapacity, long preferred) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError(
+                    "Required array length " + oldCapacity + " + " + (minCapacity - oldCapacity) + " is too large");
+        }
+        long capacity = Math.max(Math.max(preferred, (long) oldCapacity + 1), minCapacity);
+        if (capacity <= SOFT_MAX_ARRAY_LENGTH) {
+            return (int) capacity;
+        }
+        return Math.max(minCapacity, SOFT_MAX_ARRAY_LENGTH);
+    }
+}
@@ -1,4 +1,6 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -42,11 +44,13 @@ public class Main {
         };
 
         ArrayList<Dog> dogs = new ArrayList<>();
+        CustomIntArrayList heights = new CustomIntArrayList();
 
         for (int i = 1; i < 100; i++) {
             Dog dog = new Dog();
             dog.height = i;
             dogs.add(dog);
+            heights.addInt(dog.height);
         }
 
         //DogScanner dogScanner = new DogScanner();
@@ -60,6 +64,33 @@ public class Main {
             }
         }
 
+        //Поиск по росту без упаковки
+        int heightIndex = heights.indexOfInt(43);
+        if (heightIndex >= 0) {
+            System.out.println("Нашёл рост " + heights.getInt(heightIndex) + " под индексом " + heightIndex);
+        }
+
+        //Двоичный поиск в упорядоченном по росту списке
+        SortedCustomArrayList<Dog> sortedDogs =
+                new SortedCustomArrayList<>(dogs, Comparator.comparingInt(dog -> dog.height));
+        Dog probe = new Dog();
+        probe.height = 43;
+        int sortedIndex = sortedDogs.binarySearch(probe);
+        if (sortedIndex >= 0) {
+            System.out.println("Нашёл двоичным поиском собаку с ростом " + sortedDogs.get(sortedIndex).height);
+        }
+
+        //Упорядоченный список больше чем из 8 элементов собирается дописыванием в конец и досортировкой
+        SortedCustomArrayList<Integer> sortedHeights = new SortedCustomArrayList<>(
+                Arrays.asList(50, 12, 97, 3, 41, 76, 8, 65, 29, 88, 1, 54), null);
+        for (int i = 1; i < sortedHeights.size(); i++) {
+            if (sortedHeights.get(i - 1) > sortedHeights.get(i)) {
+                System.out.println("Упорядоченный список собран неверно: " + sortedHeights);
+                return;
+            }
+        }
+        System.out.println("Упорядоченный список ростов: " + sortedHeights);
+
         //Поиск LinkedList
         for (String str : linkedStrings) {
             if (str.equals("меня")) {
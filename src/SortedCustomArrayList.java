@@ -0,0 +1,204 @@
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+//Список, который всегда хранит элементы упорядоченными по компаратору.
+//Новый элемент вставляется в нужную позицию (после равных ему), поэтому indexOf, contains, remove(Object)
+//и выборка диапазона работают двоичным поиском за O(log n) вместо линейного прохода по списку.
+//Операции, которые могут нарушить порядок (вставка по индексу, set, sort, replaceAll),
+//генерируют UnsupportedOperationException
+public class SortedCustomArrayList<A> extends CustomArrayList<A> {
+
+    @java.io.Serial
+    private static final long serialVersionUID = -2179465013298470124L;
+
+    //Компаратор, задающий порядок элементов
+    private final Comparator<? super A> comparator;
+
+    //Первый конструктор. Элементы упорядочиваются по естественному порядку (Comparable)
+    public SortedCustomArrayList() {
+        this(null);
+    }
+
+    //Второй конструктор. Элементы упорядочиваются указанным компаратором;
+    //если компаратор имеет значение null, используется естественный порядок
+    public SortedCustomArrayList(Comparator<? super A> comparator) {
+        this.comparator = (comparator != null)
+                ? comparator
+                : (Comparator<? super A>) Comparator.naturalOrder();
+    }
+
+    //Третий конструктор. Создаёт упорядоченный список из элементов указанной коллекции
+    //Может генерировать NullPointerException в случае, если коллекция имеет значение null
+    public SortedCustomArrayList(Collection<? extends A> c, Comparator<? super A> comparator) {
+        this(comparator);
+        addAll(c);
+    }
+
+    //Возвращает компаратор, задающий порядок элементов
+    public Comparator<? super A> comparator() {
+        return comparator;
+    }
+
+    //Индекс первого элемента, который не меньше key
+    public int lowerBound(A key) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(elementData(mid), key) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    //Индекс первого элемента, который больше key
+    public int upperBound(A key) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(elementData(mid), key) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    //Ищет элемент, равный key по компаратору. Возвращает индекс первого такого элемента,
+    //а если его нет - (-(точка вставки) - 1), как Collections.binarySearch
+    public int binarySearch(A key) {
+        int i = lowerBound(key);
+        if (i < size() && comparator.compare(elementData(i), key) == 0)
+            return i;
+        return -(i + 1);
+    }
+
+    //Возвращает элементы из диапазона [fromKey, toKey) в виде подсписка этого списка
+    //Генерит исключение IllegalArgumentException, если fromKey больше toKey
+    public List<A> subListRange(A fromKey, A toKey) {
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return subList(lowerBound(fromKey), lowerBound(toKey));
+    }
+
+    //Добавляет элемент в позицию, соответствующую его порядку, после всех равных ему элементов
+    public boolean add(A e) {
+        super.add(upperBound(e), e);
+        return true;
+    }
+
+    //Добавляет все элементы коллекции. Небольшие коллекции вставляются по одному элементу,
+    //большие дописываются в конец, после чего весь список досортировывается. Досортировка идёт
+    //через sortElements базового класса, а не через sort, который этот класс запрещает
+    public boolean addAll(Collection<? extends A> c) {
+        int numNew = c.size();
+        if (numNew == 0)
+            return false;
+        if (numNew <= 8 || numNew < (size() >> 4)) {
+            for (A e : c)
+                add(e);
+            return true;
+        }
+        super.addAll(c);
+        sortElements(comparator, 0, size());
+        return true;
+    }
+
+    //Возвращает индекс первого элемента, равного o (по equals), или -1.
+    //Элемент ищется двоичным поиском среди элементов, равных o по компаратору
+    public int indexOf(Object o) {
+        final A key;
+        final int from;
+        try {
+            key = (A) o;
+            from = lowerBound(key);
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for (int i = from, s = size(); i < s; i++) {
+            A e = elementData(i);
+            if (comparator.compare(e, key) != 0)
+                break;
+            if (Objects.equals(o, e))
+                return i;
+        }
+        return -1;
+    }
+
+    //Возвращает индекс последнего элемента, равного o (по equals), или -1
+    public int lastIndexOf(Object o) {
+        final A key;
+        final int to;
+        try {
+            key = (A) o;
+            to = upperBound(key);
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for (int i = to - 1; i >= 0; i--) {
+            A e = elementData(i);
+            if (comparator.compare(e, key) != 0)
+                break;
+            if (Objects.equals(o, e))
+                return i;
+        }
+        return -1;
+    }
+
+    //Удаляет первое вхождение элемента, найденное двоичным поиском
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0)
+            return false;
+        remove(i);
+        return true;
+    }
+
+    //Вставка по индексу нарушила бы порядок элементов
+    public void add(int index, A element) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Вставка по индексу нарушила бы порядок элементов
+    public boolean addAll(int index, Collection<? extends A> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Замена элемента нарушила бы порядок элементов
+    public A set(int index, A element) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Порядок элементов задан компаратором списка
+    public void sort(Comparator<? super A> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Порядок элементов задан компаратором списка
+    public void sortByIntKey(ToIntFunction<? super A> keyExtractor) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Замена элементов нарушила бы порядок элементов
+    public void replaceAll(UnaryOperator<A> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Замена элементов нарушила бы порядок элементов
+    public void parallelReplaceAll(UnaryOperator<A> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Через этот метод элементы заменяют и подсписки
+    void replaceAllRange(UnaryOperator<A> operator, int i, int end) {
+        throw new UnsupportedOperationException();
+    }
+
+    //Через этот метод сортируют подсписки
+    void sortRange(Comparator<? super A> c, int from, int end) {
+        throw new UnsupportedOperationException();
+    }
+}